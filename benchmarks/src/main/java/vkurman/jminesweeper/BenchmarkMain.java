@@ -0,0 +1,47 @@
+package vkurman.jminesweeper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <code>BenchmarkMain</code> is entry point of benchmarks jar. Selected
+ * benchmarks are run twice: in throughput mode in operations per second with
+ * GC profiler, which reports allocation rate, and in sample time mode, which
+ * reports percentiles of single operation time. Arguments are the usual JMH
+ * command line options, for example
+ * <code>java -jar benchmarks.jar Board -p size=ADVANCED</code>.
+ * 
+ * <p>
+ * Plain JMH runner is available with
+ * <code>java -cp benchmarks.jar org.openjdk.jmh.Main</code>.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws RunnerException,
+			CommandLineOptionException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+
+		Options throughput = new OptionsBuilder().parent(commandLine)
+				.mode(Mode.Throughput).timeUnit(TimeUnit.SECONDS)
+				.addProfiler(GCProfiler.class).build();
+		new Runner(throughput).run();
+
+		Options percentiles = new OptionsBuilder().parent(commandLine)
+				.mode(Mode.SampleTime).timeUnit(TimeUnit.MICROSECONDS).build();
+		new Runner(percentiles).run();
+	}
+}
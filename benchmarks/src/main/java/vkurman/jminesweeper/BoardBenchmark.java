@@ -0,0 +1,107 @@
+package vkurman.jminesweeper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>BoardBenchmark</code> measures hot paths of the <code>Board</code>
+ * model: construction, mine placement, counting of mine neighbours, flood fill
+ * and win check. Every benchmark runs for each difficulty level and for custom
+ * huge boards.
+ * 
+ * <p>
+ * Run with <code>java -jar target/benchmarks.jar Board</code>, see
+ * <code>BenchmarkMain</code>.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+	@Param({ BoardSize.BEGINNER, BoardSize.INTERMEDIATE, BoardSize.ADVANCED,
+			BoardSize.HUGE, BoardSize.GIANT })
+	public String size;
+
+	private BoardSize boardSize;
+	private long seed;
+
+	// Board with mines placed, used for neighbour counting and win checks
+	private Board placed;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		boardSize = BoardSize.parse(size);
+		placed = boardSize.newBoardWithMines(42);
+		placed.open(boardSize.rows / 2, boardSize.columns / 2);
+	}
+
+	@Benchmark
+	public Board construct() {
+		return boardSize.newBoard();
+	}
+
+	@Benchmark
+	public Board placeMines() {
+		Board board = boardSize.newBoard(++seed);
+		board.placeMines(boardSize.rows / 2, boardSize.columns / 2);
+		return board;
+	}
+
+	@Benchmark
+	public Board markMineNeighbours() {
+		placed.markMineNeighbours(false);
+		return placed;
+	}
+
+	@Benchmark
+	public Board markMineNeighboursParallel() {
+		placed.markMineNeighbours(true);
+		return placed;
+	}
+
+	@Benchmark
+	public int floodFill(CoveredBoard state) {
+		return state.board.open(boardSize.rows / 2, boardSize.columns / 2);
+	}
+
+	@Benchmark
+	public boolean winCheck() {
+		return placed.isWon();
+	}
+
+	/**
+	 * Fresh board for every flood fill, created outside of measured time.
+	 */
+	@State(Scope.Thread)
+	public static class CoveredBoard {
+		private long seed;
+		private Board board;
+
+		@Setup(Level.Invocation)
+		public void setUp(BoardBenchmark benchmark) {
+			seed++;
+			board = benchmark.boardSize.newBoardWithMines(seed);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package vkurman.jminesweeper;
+
+/**
+ * <code>BoardSize</code> converts benchmark parameter to board dimensions.
+ * Parameter is either name of <code>Difficulty</code> or custom size written
+ * as <code>rows x columns x mines</code>, for example
+ * <code>1000x1000x150000</code>.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+final class BoardSize {
+
+	/** Difficulty levels and custom huge boards used by benchmarks. */
+	static final String BEGINNER = "BEGINNER";
+	static final String INTERMEDIATE = "INTERMEDIATE";
+	static final String ADVANCED = "ADVANCED";
+	static final String HUGE = "1000x1000x150000";
+	static final String GIANT = "4000x4000x2400000";
+
+	final int rows;
+	final int columns;
+	final int mines;
+
+	private BoardSize(int rows, int columns, int mines) {
+		this.rows = rows;
+		this.columns = columns;
+		this.mines = mines;
+	}
+
+	/**
+	 * Parses benchmark parameter.
+	 *
+	 * @param value
+	 * @return BoardSize
+	 */
+	static BoardSize parse(String value) {
+		String[] parts = value.split("x");
+		if (parts.length == 3) {
+			return new BoardSize(Integer.parseInt(parts[0]),
+					Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+		}
+
+		Difficulty difficulty = Difficulty.valueOf(value);
+		return new BoardSize(difficulty.getRows(), difficulty.getColumns(),
+				difficulty.getMines());
+	}
+
+	/**
+	 * Creates new board without mines.
+	 *
+	 * @return Board
+	 */
+	Board newBoard() {
+		return new Board(rows, columns, mines);
+	}
+
+	/**
+	 * Creates new board without mines, which places them from specified
+	 * seed.
+	 *
+	 * @param seed
+	 * @return Board
+	 */
+	Board newBoard(long seed) {
+		return new Board(rows, columns, mines, seed);
+	}
+
+	/**
+	 * Creates new board with mines placed around the cell in the center.
+	 *
+	 * @param seed
+	 * @return Board
+	 */
+	Board newBoardWithMines(long seed) {
+		Board board = newBoard(seed);
+		board.placeMines(rows / 2, columns / 2);
+		return board;
+	}
+}
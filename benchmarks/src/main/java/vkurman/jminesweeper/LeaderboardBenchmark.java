@@ -0,0 +1,72 @@
+package vkurman.jminesweeper;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>LeaderboardBenchmark</code> measures adding of a game, finding place
+ * of a time and reading of a page of games from <code>Leaderboard</code> that
+ * already keeps specified number of games.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+	// Longest time of generated games, one hour
+	private static final long MAX_TIME = 3600000000000L;
+
+	@Param({ "1000", "1000000" })
+	public int games;
+
+	private Leaderboard leaderboard;
+	private SplittableRandom random;
+	private Record[] page = new Record[100];
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		random = new SplittableRandom(42);
+		leaderboard = new Leaderboard();
+		for (int i = 0; i < games; i++) {
+			leaderboard.add(new Record("Player " + (i % 100), random
+					.nextLong(MAX_TIME)));
+		}
+	}
+
+	@Benchmark
+	public int add() {
+		return leaderboard.add(new Record("Player", random.nextLong(MAX_TIME)));
+	}
+
+	@Benchmark
+	public int rank() {
+		return leaderboard.rank(random.nextLong(MAX_TIME));
+	}
+
+	@Benchmark
+	public int getPage() {
+		return leaderboard.get(random.nextInt(games), page);
+	}
+}
@@ -0,0 +1,63 @@
+package vkurman.jminesweeper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>NoGuessBenchmark</code> measures how many no-guess boards are
+ * generated per second for every difficulty level, using all threads of
+ * common <code>ForkJoinPool</code>. Share of candidates that can be solved
+ * without guessing is printed after every trial.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoGuessBenchmark {
+
+	@Param({ BoardSize.BEGINNER, BoardSize.INTERMEDIATE, BoardSize.ADVANCED })
+	public String size;
+
+	private NoGuessGenerator generator;
+	private long seed;
+
+	@Setup
+	public void setUp() {
+		BoardSize boardSize = BoardSize.parse(size);
+		generator = new NoGuessGenerator(boardSize.rows, boardSize.columns,
+				boardSize.mines);
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.out.printf("%n%s: %d boards from %d candidates (%.1f%%)%n",
+				size, generator.getBoards(), generator.getCandidates(),
+				100.0 * generator.getBoards() / generator.getCandidates());
+	}
+
+	@Benchmark
+	public Board generate() {
+		seed += NoGuessGenerator.DEFAULT_MAX_ATTEMPTS;
+		return generator.generate(seed);
+	}
+}
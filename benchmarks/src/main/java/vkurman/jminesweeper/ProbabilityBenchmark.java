@@ -0,0 +1,103 @@
+package vkurman.jminesweeper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>ProbabilityBenchmark</code> measures calculation of mine probabilities
+ * on positions where solver can not prove any cell. Positions are collected
+ * before measurement by playing boards and opening the safest cell whenever
+ * solver gets stuck. <code>compute</code> creates new engine every time,
+ * <code>computeCached</code> reuses engine, so that all components are taken
+ * from cache.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProbabilityBenchmark {
+
+	private static final int POSITIONS = 64;
+
+	@Param({ BoardSize.INTERMEDIATE, BoardSize.ADVANCED })
+	public String size;
+
+	private final List<Board> boards = new ArrayList<Board>();
+	private final List<Solver> solvers = new ArrayList<Solver>();
+	private final List<ProbabilityEngine> engines = new ArrayList<ProbabilityEngine>();
+	private int next;
+
+	@Setup
+	public void setUp() {
+		BoardSize boardSize = BoardSize.parse(size);
+		long seed = 0;
+		while (boards.size() < POSITIONS) {
+			Board board = boardSize.newBoardWithMines(++seed);
+			board.open(boardSize.rows / 2, boardSize.columns / 2);
+			Solver solver = new Solver(board);
+			if (solver.play() || board.isLost())
+				continue;
+
+			// Guessing a few times to reach endgame positions as well
+			int guesses = (int) (seed % 4);
+			ProbabilityEngine engine = new ProbabilityEngine(board, solver);
+			while (guesses-- > 0 && !board.isLost()) {
+				int cell = safest(engine.compute(), solver, boardSize.columns);
+				int count = board.open(cell / boardSize.columns, cell
+						% boardSize.columns);
+				solver.cellsOpened(board.getOpenedCells(), count);
+				if (solver.play())
+					break;
+			}
+			if (board.isLost() || board.isWon())
+				continue;
+
+			boards.add(board);
+			solvers.add(solver);
+			engines.add(new ProbabilityEngine(board, solver));
+		}
+	}
+
+	private static int safest(double[] probabilities, Solver solver,
+			int columns) {
+		int best = -1;
+		for (int i = 0; i < probabilities.length; i++) {
+			if (solver.isUnknown(i / columns, i % columns)
+					&& (best < 0 || probabilities[i] < probabilities[best]))
+				best = i;
+		}
+		return best;
+	}
+
+	@Benchmark
+	public double[] compute() {
+		int i = next++ % POSITIONS;
+		return new ProbabilityEngine(boards.get(i), solvers.get(i)).compute();
+	}
+
+	@Benchmark
+	public double[] computeCached() {
+		return engines.get(next++ % POSITIONS).compute();
+	}
+}
@@ -0,0 +1,96 @@
+package vkurman.jminesweeper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>RecordsBenchmark</code> measures loading and saving of leaderboard and
+ * appending of a new record to the journal, for each difficulty level and
+ * number of games. Files are kept in a temporary directory. Lookups are
+ * measured on the loaded leaderboard by <code>LeaderboardBenchmark</code>.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordsBenchmark {
+
+	@Param({ "BEGINNER", "INTERMEDIATE", "ADVANCED", "CUSTOM" })
+	public Difficulty difficulty;
+
+	@Param({ "10", "100000" })
+	public int games;
+
+	private File directory;
+	private RecordsFile recordsFile;
+	private Leaderboard records;
+	private Record record;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = File.createTempFile("jminesweeper", "records");
+		directory.delete();
+		directory.mkdirs();
+
+		recordsFile = new RecordsFile(directory);
+		records = new Leaderboard();
+		for (int i = 0; i < games; i++) {
+			records.add(new Record("Player " + (i % 100), 10000L * (i + 1)));
+		}
+		recordsFile.save(difficulty, records);
+		record = records.get(0);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	@Benchmark
+	public Leaderboard load() throws IOException {
+		Leaderboard loaded = new Leaderboard();
+		recordsFile.read(difficulty, loaded);
+		return loaded;
+	}
+
+	@Benchmark
+	public Leaderboard save() throws IOException {
+		recordsFile.save(difficulty, records);
+		return records;
+	}
+
+	@Benchmark
+	public Record append() throws IOException {
+		recordsFile.append(difficulty, record);
+		return record;
+	}
+}
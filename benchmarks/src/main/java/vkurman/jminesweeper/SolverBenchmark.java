@@ -0,0 +1,61 @@
+package vkurman.jminesweeper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>SolverBenchmark</code> measures full solve of a board: opening the
+ * center cell and playing proven safe cells until nothing more can be proven.
+ * Every invocation gets a new board, created outside of measured time.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+	@Param({ BoardSize.BEGINNER, BoardSize.INTERMEDIATE, BoardSize.ADVANCED,
+			BoardSize.HUGE })
+	public String size;
+
+	private BoardSize boardSize;
+	private long seed;
+	private Board board;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		boardSize = BoardSize.parse(size);
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpInvocation() {
+		seed++;
+		board = boardSize.newBoardWithMines(seed);
+		board.open(boardSize.rows / 2, boardSize.columns / 2);
+	}
+
+	@Benchmark
+	public boolean solve() {
+		return new Solver(board).play();
+	}
+}
@@ -0,0 +1,770 @@
+package vkurman.jminesweeper;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <code>Board</code> is a headless model of the mine field. Every cell is
+ * stored in a single byte of one array: the lower four bits keep the number of
+ * mines around the cell (0 - 8) and the upper bits mark a mine, a flag and an
+ * opened cell. <code>JMinesweeperUI</code> only renders the state of this
+ * class, so the game logic can run without a display.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class Board {
+
+	private static final int ADJACENT_MASK = 0x0F;
+	private static final int MINE = 0x10;
+	private static final int FLAG = 0x20;
+	private static final int OPEN = 0x40;
+	// Bits of a cell in packed marks
+	private static final int PACKED_OPEN = 1;
+	private static final int PACKED_FLAG = 2;
+
+	// Largest number of cells, one byte array keeps all of them
+	static final int MAX_CELLS = Integer.MAX_VALUE - 8;
+	// Smallest board for which mine neighbours are counted in parallel
+	static final int PARALLEL_THRESHOLD = 1 << 22;
+	// Smallest number of cells in a stripe of rows processed by one task
+	private static final int STRIPE_CELLS = 1 << 16;
+
+	private final int rows;
+	private final int columns;
+	private final int mines;
+	private final byte[] cells;
+
+	// Mines are placed by SplittableRandom created from the seed, so the
+	// same seed and first opened cell always give the same board
+	private final long seed;
+	private int firstRow = -1;
+	private int firstColumn = -1;
+
+	private int flags;
+	private boolean exploded;
+	private boolean minesPlaced;
+
+	// Counters kept up to date on every open and flag, so that checking for
+	// the win does not need to scan the board
+	private int coveredSafeCells;
+	private int flaggedMines;
+
+	// Cells opened by the last open or chord request. The same array is used
+	// as the queue of flood fill, so every opened cell is visited only once.
+	private int[] opened = new int[64];
+	private int openedCount;
+
+	/**
+	 * Constructor for board of specified difficulty level.
+	 *
+	 * @param difficulty
+	 */
+	public Board(Difficulty difficulty) {
+		this(difficulty.getRows(), difficulty.getColumns(), difficulty
+				.getMines());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 */
+	public Board(int rows, int columns, int mines) {
+		this(rows, columns, mines, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Constructor. Mines are placed using random generator created from
+	 * specified seed when the first cell is opened.
+	 *
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 * @param seed
+	 */
+	public Board(int rows, int columns, int mines, long seed) {
+		if (rows <= 0 || columns <= 0)
+			throw new IllegalArgumentException("Board must have at least one cell");
+		if ((long) rows * columns > MAX_CELLS)
+			throw new IllegalArgumentException("Board of " + rows + "x"
+					+ columns + " cells is too big");
+		if (mines < 0 || mines >= rows * columns)
+			throw new IllegalArgumentException("Illegal number of mines: "
+					+ mines);
+
+		this.rows = rows;
+		this.columns = columns;
+		this.mines = mines;
+		this.cells = new byte[rows * columns];
+		this.coveredSafeCells = cells.length - mines;
+		this.seed = seed;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	public int getMines() {
+		return mines;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Returns row of the cell around which mines have been placed, or -1 if
+	 * mines are not placed yet.
+	 *
+	 * @return int
+	 */
+	public int getFirstRow() {
+		return firstRow;
+	}
+
+	/**
+	 * Returns column of the cell around which mines have been placed, or -1
+	 * if mines are not placed yet.
+	 *
+	 * @return int
+	 */
+	public int getFirstColumn() {
+		return firstColumn;
+	}
+
+	/**
+	 * Returns number of mines that are not flagged yet. Can be negative if
+	 * player placed more flags than there are mines.
+	 *
+	 * @return int
+	 */
+	public int getLeftMines() {
+		return mines - flags;
+	}
+
+	/**
+	 * Returns TRUE if mines have been placed. Mines are placed when the first
+	 * cell is opened.
+	 *
+	 * @return boolean
+	 */
+	public boolean isMinesPlaced() {
+		return minesPlaced;
+	}
+
+	/**
+	 * This method places mines in the random cells and marks their
+	 * neighbours. Specified cell and, if there are enough cells left, all
+	 * cells around it are kept without mines, so that the first opened cell
+	 * is always empty.
+	 * 
+	 * <p>
+	 * Cells are chosen with partial Fisher-Yates shuffle over the indexes of
+	 * allowed cells, so that every cell is drawn once and time does not depend
+	 * on how dense mines are. Only swapped positions of the shuffle are
+	 * stored. If more than half of allowed cells get mines, than all of them
+	 * are mined and safe cells are drawn instead.
+	 *
+	 * <p>
+	 * Random numbers are drawn from <code>SplittableRandom</code> created
+	 * from the seed of the board, so placement depends only on the seed and
+	 * specified cell.
+	 *
+	 * @param safeRow
+	 * @param safeColumn
+	 */
+	public void placeMines(int safeRow, int safeColumn) {
+		if (minesPlaced)
+			throw new IllegalStateException("Mines have already been placed");
+		GameEvents.MinePlacement event = new GameEvents.MinePlacement();
+		event.begin();
+		minesPlaced = true;
+		firstRow = safeRow;
+		firstColumn = safeColumn;
+
+		SplittableRandom random = new SplittableRandom(seed);
+		int[] excluded = getSafeArea(safeRow, safeColumn);
+		int candidates = cells.length - excluded.length;
+		boolean inverse = mines > candidates / 2;
+		int draws = inverse ? candidates - mines : mines;
+
+		if (inverse) {
+			for (int i = 0; i < cells.length; i++)
+				setMine(i);
+			for (int i = 0; i < excluded.length; i++)
+				clearMine(excluded[i]);
+		}
+
+		SwapTable swaps = new SwapTable(draws, candidates);
+		for (int i = 0; i < draws; i++) {
+			int j = i + random.nextInt(candidates - i);
+			int drawn = swaps.get(j);
+			swaps.put(j, swaps.get(i));
+
+			int index = toCellIndex(drawn, excluded);
+			if (inverse) {
+				clearMine(index);
+			} else {
+				setMine(index);
+			}
+		}
+		event.commit(cells.length, mines, inverse);
+
+		markMineNeighbours();
+	}
+
+	/**
+	 * Returns sorted indexes of cells that are kept without mines around
+	 * specified cell.
+	 */
+	private int[] getSafeArea(int row, int column) {
+		int rowFrom = Math.max(row - 1, 0), rowTo = Math.min(row + 1, rows - 1);
+		int columnFrom = Math.max(column - 1, 0);
+		int columnTo = Math.min(column + 1, columns - 1);
+		int size = (rowTo - rowFrom + 1) * (columnTo - columnFrom + 1);
+
+		if (cells.length - size < mines)
+			return new int[] { index(row, column) };
+
+		int[] area = new int[size];
+		int i = 0;
+		for (int r = rowFrom; r <= rowTo; r++) {
+			for (int c = columnFrom; c <= columnTo; c++) {
+				area[i++] = index(r, c);
+			}
+		}
+		return area;
+	}
+
+	/**
+	 * Converts position among allowed cells to index of the cell by skipping
+	 * excluded cells.
+	 */
+	private static int toCellIndex(int position, int[] excluded) {
+		int index = position;
+		for (int i = 0; i < excluded.length && excluded[i] <= index; i++) {
+			index++;
+		}
+		return index;
+	}
+
+	private void setMine(int index) {
+		cells[index] |= MINE;
+		if ((cells[index] & FLAG) != 0)
+			flaggedMines++;
+	}
+
+	private void clearMine(int index) {
+		cells[index] &= ~MINE;
+		if ((cells[index] & FLAG) != 0)
+			flaggedMines--;
+	}
+
+	/**
+	 * This method stores in every cell how many mines it has next to it.
+	 * Boards of at least <code>PARALLEL_THRESHOLD</code> cells are processed
+	 * in parallel. NOTE! This method should be used after all mines have been
+	 * placed.
+	 */
+	private void markMineNeighbours() {
+		boolean parallel = cells.length >= PARALLEL_THRESHOLD;
+		GameEvents.MineAdjacency event = new GameEvents.MineAdjacency();
+		event.begin();
+		markMineNeighbours(parallel);
+		event.commit(cells.length, parallel);
+	}
+
+	/**
+	 * This method stores in every cell how many mines it has next to it. In
+	 * parallel mode rows are split into stripes which are processed on
+	 * <code>ForkJoinPool</code>. Both modes run the same code for every row,
+	 * so the result does not depend on the mode.
+	 *
+	 * @param parallel
+	 */
+	void markMineNeighbours(boolean parallel) {
+		if (parallel) {
+			ForkJoinPool.commonPool().invoke(new MarkNeighboursTask(0, rows));
+		} else {
+			markMineNeighbours(0, rows);
+		}
+	}
+
+	/**
+	 * Stores number of mines around every cell in specified rows. Only
+	 * adjacency bits of these rows are written and only mine bits of other
+	 * rows are read, so stripes of rows can be processed at the same time.
+	 * Sums of mines in three cells of every column are kept in a sliding
+	 * window, so that there are no bounds checks and no allocations.
+	 *
+	 * @param rowFrom
+	 *            - first row, inclusive
+	 * @param rowTo
+	 *            - last row, exclusive
+	 */
+	private void markMineNeighbours(int rowFrom, int rowTo) {
+		for (int row = rowFrom; row < rowTo; row++) {
+			int start = row * columns;
+			int above = (row > 0) ? start - columns : -1;
+			int below = (row < rows - 1) ? start + columns : -1;
+
+			int index = start;
+			int left = 0;
+			int middle = columnMines(above, start, below, 0);
+			for (int column = 0; column < columns; column++, index++) {
+				int right = (column + 1 < columns) ? columnMines(above, start,
+						below, column + 1) : 0;
+				int counter = left + middle + right - ((cells[index] & MINE) >> 4);
+
+				cells[index] = (byte) ((cells[index] & ~ADJACENT_MASK) | counter);
+
+				left = middle;
+				middle = right;
+			}
+		}
+	}
+
+	/**
+	 * Returns number of mines in specified column of the row and rows above
+	 * and below it. Row index is -1 if there is no such row.
+	 */
+	private int columnMines(int above, int row, int below, int column) {
+		int counter = (cells[row + column] & MINE) >> 4;
+		if (above >= 0)
+			counter += (cells[above + column] & MINE) >> 4;
+		if (below >= 0)
+			counter += (cells[below + column] & MINE) >> 4;
+		return counter;
+	}
+
+	/**
+	 * This method returns TRUE if specified position is within the bounds of
+	 * the board.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean
+	 */
+	public boolean isCellPositionValid(int row, int column) {
+		return row >= 0 && row < rows && column >= 0 && column < columns;
+	}
+
+	/**
+	 * Returns TRUE if cell has mine in it.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean
+	 */
+	public boolean hasMine(int row, int column) {
+		return (cells[index(row, column)] & MINE) != 0;
+	}
+
+	/**
+	 * Returns TRUE if cell has been flagged.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean
+	 */
+	public boolean isFlagged(int row, int column) {
+		return (cells[index(row, column)] & FLAG) != 0;
+	}
+
+	/**
+	 * Returns TRUE if cell has been opened.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean
+	 */
+	public boolean isOpened(int row, int column) {
+		return (cells[index(row, column)] & OPEN) != 0;
+	}
+
+	/**
+	 * Returns TRUE if cell has neither mine nor mines around it.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean
+	 */
+	public boolean isEmpty(int row, int column) {
+		return (cells[index(row, column)] & (MINE | ADJACENT_MASK)) == 0;
+	}
+
+	/**
+	 * Returns how many mines are located around the cell.
+	 *
+	 * @param row
+	 * @param column
+	 * @return int from 0 to 8
+	 */
+	public int getAdjacentMines(int row, int column) {
+		return cells[index(row, column)] & ADJACENT_MASK;
+	}
+
+	/**
+	 * Opens the cell if it is neither opened nor flagged. If the cell is empty
+	 * than all cells around it are opened as well. Opened cells can be
+	 * retrieved with <code>getOpenedCells()</code>.
+	 *
+	 * @param row
+	 * @param column
+	 * @return int - number of opened cells, 0 if nothing has been opened
+	 */
+	public int open(int row, int column) {
+		openedCount = 0;
+		if (!minesPlaced)
+			placeMines(row, column);
+		openCell(index(row, column));
+		return openedCount;
+	}
+
+	/**
+	 * Puts flag on the cell or removes it if the cell is already flagged.
+	 * Opened cells can not be flagged.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean - TRUE if flag has been changed
+	 */
+	public boolean flag(int row, int column) {
+		int index = index(row, column);
+		if ((cells[index] & OPEN) != 0)
+			return false;
+
+		cells[index] ^= FLAG;
+		int change = ((cells[index] & FLAG) != 0) ? 1 : -1;
+		flags += change;
+		if ((cells[index] & MINE) != 0)
+			flaggedMines += change;
+		return true;
+	}
+
+	/**
+	 * Opens all not flagged cells around opened numbered cell if the number
+	 * of flags around it matches the number on the cell.
+	 *
+	 * @param row
+	 * @param column
+	 * @return int - number of opened cells, 0 if nothing has been opened
+	 */
+	public int chord(int row, int column) {
+		openedCount = 0;
+
+		int index = index(row, column);
+		int adjacent = cells[index] & ADJACENT_MASK;
+		if ((cells[index] & OPEN) == 0 || adjacent == 0)
+			return 0;
+
+		int rowFrom = Math.max(row - 1, 0), rowTo = Math.min(row + 1, rows - 1);
+		int columnFrom = Math.max(column - 1, 0);
+		int columnTo = Math.min(column + 1, columns - 1);
+
+		int flagged = 0;
+		for (int r = rowFrom; r <= rowTo; r++) {
+			for (int c = columnFrom; c <= columnTo; c++) {
+				if ((cells[index(r, c)] & FLAG) != 0)
+					flagged++;
+			}
+		}
+		if (flagged != adjacent)
+			return 0;
+
+		for (int r = rowFrom; r <= rowTo; r++) {
+			for (int c = columnFrom; c <= columnTo; c++) {
+				openCell(index(r, c));
+			}
+		}
+		return openedCount;
+	}
+
+	/**
+	 * Returns cells opened by the last <code>open</code> or
+	 * <code>chord</code> request as indexes <code>row * columns +
+	 * column</code>. Only the number of elements returned by that request are
+	 * valid and the array is reused by the next request.
+	 *
+	 * @return int[]
+	 */
+	public int[] getOpenedCells() {
+		return opened;
+	}
+
+	/**
+	 * Opens single cell and appends it to opened cells. If the cell is empty
+	 * than the flood fill is started from it.
+	 *
+	 * @param index
+	 */
+	private void openCell(int index) {
+		if ((cells[index] & (OPEN | FLAG)) != 0)
+			return;
+
+		int start = openedCount;
+		markOpened(index);
+
+		if ((cells[index] & MINE) != 0) {
+			exploded = true;
+		} else if ((cells[index] & ADJACENT_MASK) == 0) {
+			findEmptyCells(start);
+		}
+	}
+
+	/**
+	 * This method opens all cells around empty cells. It is iterative: opened
+	 * cells are appended to the array of opened cells, which is read as a
+	 * queue starting from specified position. Every cell is marked as opened
+	 * when it is added, so that it is never visited twice.
+	 *
+	 * @param head
+	 *            - position of the first empty cell in opened cells
+	 */
+	private void findEmptyCells(int head) {
+		while (head < openedCount) {
+			int index = opened[head++];
+			if ((cells[index] & ADJACENT_MASK) != 0)
+				continue;
+
+			int row = index / columns;
+			int column = index - row * columns;
+			int rowFrom = Math.max(row - 1, 0), rowTo = Math.min(row + 1, rows - 1);
+			int columnFrom = Math.max(column - 1, 0);
+			int columnTo = Math.min(column + 1, columns - 1);
+
+			for (int r = rowFrom; r <= rowTo; r++) {
+				int i = r * columns + columnFrom;
+				for (int c = columnFrom; c <= columnTo; c++, i++) {
+					if ((cells[i] & (MINE | OPEN | FLAG)) == 0)
+						markOpened(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Marks cell as opened and appends it to opened cells.
+	 *
+	 * @param index
+	 */
+	private void markOpened(int index) {
+		cells[index] |= OPEN;
+		if ((cells[index] & MINE) == 0)
+			coveredSafeCells--;
+
+		if (openedCount == opened.length)
+			opened = Arrays.copyOf(opened,
+					Math.min(opened.length * 2, cells.length));
+		opened[openedCount++] = index;
+	}
+
+	/**
+	 * Returns TRUE if mine has been opened.
+	 *
+	 * @return boolean
+	 */
+	public boolean isLost() {
+		return exploded;
+	}
+
+	/**
+	 * Checking if the game has been won: every cell that is not opened must
+	 * be flagged and must have mine in it. This is the case when all safe
+	 * cells are opened and all mines are flagged.
+	 *
+	 * @return boolean
+	 */
+	public boolean isWon() {
+		return !exploded && coveredSafeCells == 0 && flaggedMines == mines;
+	}
+
+	/**
+	 * Returns number of cells without mine that are not opened yet.
+	 *
+	 * @return int
+	 */
+	public int getCoveredSafeCells() {
+		return coveredSafeCells;
+	}
+
+	/**
+	 * Returns opened and flagged marks of all cells packed by 2 bits per cell,
+	 * 4 cells per byte: bit 0 is opened and bit 1 is flagged. Marks are the
+	 * whole state of the game, as mines depend only on the seed and the first
+	 * cell.
+	 *
+	 * @return byte[]
+	 */
+	byte[] getPackedMarks() {
+		byte[] packed = new byte[getPackedMarksLength(cells.length)];
+		for (int i = 0; i < cells.length; i++) {
+			int bits = ((cells[i] & OPEN) != 0 ? PACKED_OPEN : 0)
+					| ((cells[i] & FLAG) != 0 ? PACKED_FLAG : 0);
+			packed[i >> 2] |= bits << ((i & 3) << 1);
+		}
+		return packed;
+	}
+
+	/**
+	 * Returns number of bytes of packed marks of specified number of cells.
+	 *
+	 * @param cells
+	 * @return int
+	 */
+	static int getPackedMarksLength(int cells) {
+		return (int) (((long) cells + 3) / 4);
+	}
+
+	/**
+	 * Returns copy of all cells, one byte per cell: adjacent mines, mine,
+	 * flag and opened bits.
+	 *
+	 * @return byte[]
+	 */
+	byte[] getCells() {
+		return cells.clone();
+	}
+
+	/**
+	 * Replaces opened and flagged marks of all cells with marks packed by
+	 * <code>getPackedMarks</code> and counts flags and opened cells again.
+	 * Mines must be placed the same way as when the marks were saved.
+	 *
+	 * @param packed
+	 */
+	void setPackedMarks(byte[] packed) {
+		if (packed.length != getPackedMarksLength(cells.length))
+			throw new IllegalArgumentException("Marks of " + packed.length
+					+ " bytes for board of " + cells.length + " cells");
+
+		flags = 0;
+		flaggedMines = 0;
+		exploded = false;
+		coveredSafeCells = cells.length - mines;
+		for (int i = 0; i < cells.length; i++) {
+			int bits = packed[i >> 2] >> ((i & 3) << 1);
+			int cell = (cells[i] & ~(OPEN | FLAG))
+					| ((bits & PACKED_OPEN) != 0 ? OPEN : 0)
+					| ((bits & PACKED_FLAG) != 0 ? FLAG : 0);
+			cells[i] = (byte) cell;
+			if ((cell & FLAG) != 0) {
+				flags++;
+				if ((cell & MINE) != 0)
+					flaggedMines++;
+			}
+			if ((cell & OPEN) != 0) {
+				if ((cell & MINE) != 0) {
+					exploded = true;
+				} else {
+					coveredSafeCells--;
+				}
+			}
+		}
+		openedCount = 0;
+	}
+
+	private int index(int row, int column) {
+		return row * columns + column;
+	}
+
+	/**
+	 * <code>MarkNeighboursTask</code> splits rows in halves until stripe is
+	 * small enough to count mine neighbours in it directly.
+	 */
+	private class MarkNeighboursTask extends RecursiveAction {
+		private static final long serialVersionUID = 5083624412702150719L;
+
+		private final int rowFrom, rowTo;
+
+		MarkNeighboursTask(int rowFrom, int rowTo) {
+			this.rowFrom = rowFrom;
+			this.rowTo = rowTo;
+		}
+
+		@Override
+		protected void compute() {
+			if (rowTo - rowFrom <= 1
+					|| (long) (rowTo - rowFrom) * columns <= STRIPE_CELLS) {
+				markMineNeighbours(rowFrom, rowTo);
+			} else {
+				int middle = (rowFrom + rowTo) >>> 1;
+				invokeAll(new MarkNeighboursTask(rowFrom, middle),
+						new MarkNeighboursTask(middle, rowTo));
+			}
+		}
+	}
+
+	/**
+	 * <code>SwapTable</code> keeps positions changed by partial Fisher-Yates
+	 * shuffle in open addressing hash table. Positions that are not stored
+	 * have their own value, so memory depends on the number of draws rather
+	 * than on the size of the board. When draws are a big part of all
+	 * positions plain array of positions is used instead.
+	 */
+	private static class SwapTable {
+		private final int[] keys;
+		private final int[] values;
+		private final int mask;
+
+		SwapTable(int draws, int size) {
+			if ((long) draws * 8 >= size) {
+				keys = null;
+				values = new int[size];
+				for (int i = 0; i < size; i++)
+					values[i] = i;
+				mask = 0;
+			} else {
+				int capacity = Integer.highestOneBit(Math.max(draws, 1) * 4 - 1) << 1;
+				keys = new int[capacity];
+				values = new int[capacity];
+				mask = capacity - 1;
+				Arrays.fill(keys, -1);
+			}
+		}
+
+		int get(int key) {
+			if (keys == null)
+				return values[key];
+
+			for (int slot = hash(key);; slot = (slot + 1) & mask) {
+				if (keys[slot] == key)
+					return values[slot];
+				if (keys[slot] == -1)
+					return key;
+			}
+		}
+
+		void put(int key, int value) {
+			if (keys == null) {
+				values[key] = value;
+				return;
+			}
+
+			for (int slot = hash(key);; slot = (slot + 1) & mask) {
+				if (keys[slot] == key || keys[slot] == -1) {
+					keys[slot] = key;
+					values[slot] = value;
+					return;
+				}
+			}
+		}
+
+		private int hash(int key) {
+			int h = key * 0x9E3779B9;
+			return (h ^ (h >>> 16)) & mask;
+		}
+	}
+}
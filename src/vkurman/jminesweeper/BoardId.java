@@ -0,0 +1,208 @@
+package vkurman.jminesweeper;
+
+/**
+ * <code>BoardId</code> identifies a board by its size, number of mines, seed
+ * of random generator and the first opened cell. The same identifier always
+ * gives the same board, so boards can be shared between players and used in
+ * bug reports and benchmarks.
+ *
+ * <p>
+ * Identifier is written as
+ * <code>&lt;size&gt;-&lt;seed&gt;-&lt;first cell&gt;</code>, where size is the
+ * first letter of standard difficulty or
+ * <code>rows x columns x mines</code> of custom board, seed and index of the
+ * first cell are written in base 36, for example <code>A-2429lebqip12x-6n</code>
+ * or <code>100x100x1500-3j59mnqk6ti1-3wa</code>.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class BoardId {
+
+	private static final int RADIX = 36;
+	private static final char SEPARATOR = '-';
+
+	private final int rows;
+	private final int columns;
+	private final int mines;
+	private final long seed;
+	private final int firstRow;
+	private final int firstColumn;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 * @param seed
+	 * @param firstRow
+	 * @param firstColumn
+	 */
+	public BoardId(int rows, int columns, int mines, long seed, int firstRow,
+			int firstColumn) {
+		if (rows <= 0 || columns <= 0 || (long) rows * columns > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Illegal board size: " + rows
+					+ "x" + columns);
+		if (mines < 0 || mines >= rows * columns)
+			throw new IllegalArgumentException("Illegal number of mines: "
+					+ mines);
+		if (firstRow < 0 || firstRow >= rows || firstColumn < 0
+				|| firstColumn >= columns)
+			throw new IllegalArgumentException("Illegal first cell: "
+					+ firstRow + ", " + firstColumn);
+
+		this.rows = rows;
+		this.columns = columns;
+		this.mines = mines;
+		this.seed = seed;
+		this.firstRow = firstRow;
+		this.firstColumn = firstColumn;
+	}
+
+	/**
+	 * Returns identifier of the board. Mines of the board must be placed.
+	 *
+	 * @param board
+	 * @return BoardId
+	 */
+	public static BoardId of(Board board) {
+		if (!board.isMinesPlaced())
+			throw new IllegalStateException("Mines have not been placed yet");
+		return new BoardId(board.getRows(), board.getColumns(),
+				board.getMines(), board.getSeed(), board.getFirstRow(),
+				board.getFirstColumn());
+	}
+
+	/**
+	 * Parses identifier written by <code>toString()</code>.
+	 *
+	 * @param text
+	 * @return BoardId
+	 * @throws IllegalArgumentException
+	 *             if text is not a valid identifier
+	 */
+	public static BoardId parse(String text) {
+		String[] parts = text.trim().split(String.valueOf(SEPARATOR));
+		if (parts.length != 3)
+			throw new IllegalArgumentException("Illegal board ID: " + text);
+
+		try {
+			int rows, columns, mines;
+			Difficulty difficulty = parseDifficulty(parts[0]);
+			if (difficulty != null) {
+				rows = difficulty.getRows();
+				columns = difficulty.getColumns();
+				mines = difficulty.getMines();
+			} else {
+				String[] size = parts[0].split("x");
+				if (size.length != 3)
+					throw new IllegalArgumentException("Illegal board ID: "
+							+ text);
+				rows = Integer.parseInt(size[0]);
+				columns = Integer.parseInt(size[1]);
+				mines = Integer.parseInt(size[2]);
+			}
+
+			long seed = Long.parseUnsignedLong(parts[1], RADIX);
+			int first = Integer.parseInt(parts[2], RADIX);
+			if (columns <= 0 || first < 0 || first / columns >= rows)
+				throw new IllegalArgumentException("Illegal board ID: " + text);
+
+			return new BoardId(rows, columns, mines, seed, first / columns,
+					first % columns);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Illegal board ID: " + text, e);
+		}
+	}
+
+	/**
+	 * Returns standard difficulty level written as its first letter, or null.
+	 */
+	private static Difficulty parseDifficulty(String text) {
+		for (Difficulty difficulty : Difficulty.values()) {
+			if (!difficulty.isCustom()
+					&& difficulty.getName().substring(0, 1)
+							.equalsIgnoreCase(text))
+				return difficulty;
+		}
+		return null;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	public int getMines() {
+		return mines;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getFirstRow() {
+		return firstRow;
+	}
+
+	public int getFirstColumn() {
+		return firstColumn;
+	}
+
+	/**
+	 * Returns standard difficulty level with the same size and number of
+	 * mines, or <code>Difficulty.CUSTOM</code>.
+	 *
+	 * @return Difficulty
+	 */
+	public Difficulty getDifficulty() {
+		return Difficulty.of(rows, columns, mines);
+	}
+
+	/**
+	 * Creates the board with mines placed around the first cell. The first
+	 * cell is not opened yet.
+	 *
+	 * @return Board
+	 */
+	public Board newBoard() {
+		Board board = new Board(rows, columns, mines, seed);
+		board.placeMines(firstRow, firstColumn);
+		return board;
+	}
+
+	@Override
+	public String toString() {
+		Difficulty difficulty = getDifficulty();
+		String size = difficulty.isCustom() ? rows + "x" + columns + "x"
+				+ mines : difficulty.getName().substring(0, 1);
+
+		return size + SEPARATOR + Long.toUnsignedString(seed, RADIX)
+				+ SEPARATOR
+				+ Integer.toString(firstRow * columns + firstColumn, RADIX);
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (seed ^ (seed >>> 32)) * 31 + firstRow * columns
+				+ firstColumn;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof BoardId))
+			return false;
+		BoardId other = (BoardId) o;
+		return rows == other.rows && columns == other.columns
+				&& mines == other.mines && seed == other.seed
+				&& firstRow == other.firstRow
+				&& firstColumn == other.firstColumn;
+	}
+}
@@ -0,0 +1,256 @@
+package vkurman.jminesweeper;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <code>BoardPool</code> keeps a few ready boards for every board size in
+ * use, so that new game only takes a finished board. Boards are created by
+ * single background daemon thread and the pool is refilled as soon as a
+ * board is taken. If the pool of requested size is empty, the board is
+ * created by the calling thread and counted as a miss.
+ *
+ * <p>
+ * Pool of every size is bounded by the number of boards and the number of
+ * cells. Boards with more cells than one pool may keep are not pooled at all,
+ * they are created by the caller on every request and counted neither as hit
+ * nor as miss. Only pools of the last few requested sizes are kept.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class BoardPool {
+
+	public static final int DEFAULT_CAPACITY = 4;
+	// Boards of one size kept in the pool may have at most that many cells
+	private static final int MAX_POOLED_CELLS = 1 << 24;
+	// Number of board sizes kept in the pool
+	private static final int MAX_SLOTS = 4;
+
+	private final int capacity;
+	private final Map<String, Slot> slots;
+	private final Thread filler;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	// Boards created and nanoseconds spent creating them
+	private final AtomicLong created = new AtomicLong();
+	private final AtomicLong creationTime = new AtomicLong();
+
+	/**
+	 * Constructor for pool of <code>DEFAULT_CAPACITY</code> boards per size.
+	 */
+	public BoardPool() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor. Background thread is started immediately.
+	 *
+	 * @param capacity
+	 *            - boards kept for every size
+	 */
+	public BoardPool(int capacity) {
+		this.capacity = capacity;
+		this.slots = new LinkedHashMap<String, Slot>(16, 0.75f, true) {
+			private static final long serialVersionUID = 4416011218853547322L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Slot> eldest) {
+				return size() > MAX_SLOTS;
+			}
+		};
+
+		filler = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				fill();
+			}
+		}, "BoardPool");
+		filler.setDaemon(true);
+		filler.setPriority(Thread.MIN_PRIORITY);
+		filler.start();
+	}
+
+	/**
+	 * Takes ready board of specified size from the pool, or creates it if
+	 * pool is empty or board is too big to be pooled. Mines of ordinary board
+	 * are placed when first cell is opened. No-guess board has mines placed
+	 * and its start cell has to be opened by the caller, it falls back to
+	 * ordinary board if generator does not find one.
+	 *
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 * @param noGuess
+	 *            - TRUE for board generated by <code>NoGuessGenerator</code>
+	 * @return Board
+	 */
+	public Board take(int rows, int columns, int mines, boolean noGuess) {
+		if ((long) rows * columns > MAX_POOLED_CELLS) {
+			// Keeping such board would take more memory than pool may use
+			return new Slot(rows, columns, mines, noGuess).create();
+		}
+
+		String key = rows + "x" + columns + "x" + mines + (noGuess ? "n" : "");
+		Slot slot;
+		Board board;
+
+		synchronized (this) {
+			slot = slots.get(key);
+			if (slot == null) {
+				slot = new Slot(rows, columns, mines, noGuess);
+				slots.put(key, slot);
+			}
+			board = slot.boards.poll();
+			// Waking up background thread to refill the pool
+			notifyAll();
+		}
+
+		if (board != null) {
+			hits.incrementAndGet();
+			return board;
+		}
+		misses.incrementAndGet();
+		return slot.create();
+	}
+
+	/**
+	 * Returns number of boards taken from the pool.
+	 *
+	 * @return long
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns number of boards created by the caller because pool was
+	 * empty.
+	 *
+	 * @return long
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns number of boards created by the pool or by the caller.
+	 *
+	 * @return long
+	 */
+	public long getCreated() {
+		return created.get();
+	}
+
+	/**
+	 * Returns time spent creating boards, including generation of no-guess
+	 * boards. Mines of ordinary boards are placed later, when the first cell
+	 * is opened.
+	 *
+	 * @return long - nanoseconds
+	 */
+	public long getCreationTime() {
+		return creationTime.get();
+	}
+
+	/**
+	 * Returns number of ready boards of all sizes.
+	 *
+	 * @return int
+	 */
+	public synchronized int getReadyBoards() {
+		int count = 0;
+		for (Slot slot : slots.values())
+			count += slot.boards.size();
+		return count;
+	}
+
+	/**
+	 * Loop of background thread: creates boards for the pools that are not
+	 * full and waits while all of them are full.
+	 */
+	private void fill() {
+		while (true) {
+			Slot slot;
+			synchronized (this) {
+				while ((slot = nextToFill()) == null) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+
+			Board board = slot.create();
+
+			synchronized (this) {
+				// Slot could have been removed while board was created
+				if (slots.containsValue(slot))
+					slot.boards.offer(board);
+			}
+		}
+	}
+
+	/**
+	 * Returns slot of the most recently used size which is not full.
+	 */
+	private Slot nextToFill() {
+		Slot next = null;
+		// Iterating in access order, the last one is the most recent
+		Iterator<Slot> iterator = slots.values().iterator();
+		while (iterator.hasNext()) {
+			Slot slot = iterator.next();
+			if (slot.boards.size() < slot.capacity)
+				next = slot;
+		}
+		return next;
+	}
+
+	/**
+	 * Ready boards of one size.
+	 */
+	private class Slot {
+		final int rows;
+		final int columns;
+		final int mines;
+		final int capacity;
+		final NoGuessGenerator generator;
+		final ArrayDeque<Board> boards = new ArrayDeque<Board>();
+
+		Slot(int rows, int columns, int mines, boolean noGuess) {
+			this.rows = rows;
+			this.columns = columns;
+			this.mines = mines;
+			this.capacity = (int) Math.min(BoardPool.this.capacity,
+					MAX_POOLED_CELLS / ((long) rows * columns));
+			this.generator = noGuess ? new NoGuessGenerator(rows, columns,
+					mines) : null;
+		}
+
+		Board create() {
+			long start = System.nanoTime();
+			Board board = generate();
+			creationTime.addAndGet(System.nanoTime() - start);
+			created.incrementAndGet();
+			return board;
+		}
+
+		private Board generate() {
+			if (generator != null) {
+				Board board = generator.generate();
+				if (board != null)
+					return board;
+				System.out.println("***Error generating no-guess board***");
+			}
+			return new Board(rows, columns, mines);
+		}
+	}
+}
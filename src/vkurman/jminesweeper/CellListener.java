@@ -0,0 +1,25 @@
+package vkurman.jminesweeper;
+
+import java.awt.event.MouseEvent;
+
+/**
+ * <code>CellListener</code> interface to pass mouse events on the cells of mine
+ * field to the game.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public interface CellListener {
+
+	/**
+	 * Mouse button has been released on the cell at specified position.
+	 *
+	 * @param row
+	 * @param column
+	 * @param e
+	 */
+	public void cellReleased(int row, int column, MouseEvent e);
+}
@@ -3,65 +3,191 @@ package vkurman.jminesweeper;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import javax.swing.Timer;
+
 /**
- * ClockListener class implements ActionListener for Swing Timer. This
- * ActionListener updates UI timer after specified period, in this case
- * every 1000 milliseconds.
- * 
+ * ClockListener class drives displayed time of the game. Displayed time is
+ * computed from elapsed time of the <code>Stopwatch</code>, so that it never
+ * drifts away from the time of the game, however late the ticks are.
+ *
+ * <p>
+ * Instead of ticking at fixed rate, single shot Swing Timer is scheduled for
+ * the moment displayed value changes next: the next second, or the next tenth
+ * of a second if tenths are displayed. Tick which comes early displays
+ * nothing and waits for the rest of the time. Texts of displayed values are
+ * formatted once and kept, and listener is only called when displayed text
+ * changes. Timer is not scheduled while stopwatch is stopped or paused, or
+ * when there is no listener.
+ *
  * @see http://stackoverflow.com/questions/5528939
  */
 public class ClockListener implements ActionListener {
 
-	private static final int MAX_SECONDS_TO_DISPLAY = 59;
 	private static final int MAX_MINUTES_TO_DISPLAY = 99;
 	private static final int SECONDS = 60;
-	private static final int MINUTES = 60;
-	
+	private static final int TENTHS = 10;
+	// Displayed values from 00:00 to 99:59
+	private static final int MAX_SECONDS = (MAX_MINUTES_TO_DISPLAY + 1)
+			* SECONDS - 1;
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	private static final long NANOS_PER_TENTH = NANOS_PER_SECOND / TENTHS;
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	// Texts of displayed values, formatted when displayed first
+	private static final String[] secondTexts = new String[MAX_SECONDS + 1];
+	private static final String[] tenthTexts = new String[(MAX_SECONDS + 1)
+			* TENTHS];
+
+	private final Timer timer;
 	private TimerListener timerListener;
-	
-	private int seconds;
-	private int minutes;
+	private Stopwatch stopwatch;
+	private boolean tenths;
+	// Text passed to the listener last time, null if none
+	private String displayed;
+
+	/**
+	 * Constructor.
+	 */
+	public ClockListener() {
+		timer = new Timer(0, this);
+		timer.setRepeats(false);
+	}
 
 	@Override
 	public void actionPerformed(ActionEvent e) {
-		seconds %= SECONDS;
-		minutes %= MINUTES;
-
-		// Stopping timer if it gets to top limit.
-		if (minutes <= MAX_MINUTES_TO_DISPLAY) {
-			if (seconds <= MAX_SECONDS_TO_DISPLAY) {
-				
-				// Update time listener
-				if(timerListener != null){
-					timerListener.updateTime(minutes, seconds);
-				}
-				
-				seconds++;
-				if (seconds == SECONDS) {
-					minutes++;
-				}
-			}
+		update();
+	}
+
+	/**
+	 * Displays elapsed time of the stopwatch and schedules the next update
+	 * for the moment displayed time changes, while stopwatch is running. Time
+	 * stops at the top limit of the display.
+	 */
+	public void update() {
+		long elapsed = (stopwatch == null) ? 0 : stopwatch.getElapsedTime();
+		long unit = tenths ? NANOS_PER_TENTH : NANOS_PER_SECOND;
+		int max = tenths ? tenthTexts.length - 1 : MAX_SECONDS;
+		long value = Math.min(elapsed / unit, max);
+
+		display(tenths ? getTenthText((int) value)
+				: getSecondText((int) value));
+
+		if (timerListener == null || stopwatch == null
+				|| !stopwatch.isRunning() || stopwatch.isPaused()
+				|| value == max) {
+			timer.stop();
+			return;
 		}
+
+		// Rounding up, so that early tick is rare
+		long delay = ((value + 1) * unit - elapsed + NANOS_PER_MILLI - 1)
+				/ NANOS_PER_MILLI;
+		timer.setInitialDelay((int) Math.max(delay, 1));
+		timer.restart();
 	}
 
 	/**
 	 * This method is resetting timer counter on JLabel to 0;
 	 */
 	public void resetCounter() {
-		seconds = 0;
-		minutes = 0;
+		timer.stop();
+		display(tenths ? getTenthText(0) : getSecondText(0));
+	}
 
-		if(timerListener != null){
-			timerListener.updateTime(minutes, seconds);
-		}
+	/**
+	 * Passes text to the listener, unless it is displayed already.
+	 */
+	private void display(String text) {
+		if (timerListener == null || text == displayed)
+			return;
+
+		displayed = text;
+		timerListener.updateTime(text);
 	}
-	
+
+	/**
+	 * Sets whether tenths of a second are displayed, and displays time in new
+	 * format.
+	 *
+	 * @param tenths
+	 */
+	public void setTenths(boolean tenths) {
+		if (this.tenths == tenths)
+			return;
+
+		this.tenths = tenths;
+		update();
+	}
+
+	/**
+	 * Returns TRUE if tenths of a second are displayed.
+	 *
+	 * @return boolean
+	 */
+	public boolean isTenths() {
+		return tenths;
+	}
+
 	/**
 	 * Sets timer listener.
-	 * 
+	 *
 	 * @param listener
 	 */
 	public void setTimerListener(TimerListener listener) {
 		timerListener = listener;
+		displayed = null;
+	}
+
+	/**
+	 * Sets stopwatch time is taken from.
+	 *
+	 * @param stopwatch
+	 */
+	public void setStopwatch(Stopwatch stopwatch) {
+		this.stopwatch = stopwatch;
+	}
+
+	/**
+	 * Returns text "MM:SS" of specified number of seconds.
+	 *
+	 * @param seconds
+	 * @return String
+	 */
+	static String getSecondText(int seconds) {
+		String text = secondTexts[seconds];
+		if (text == null) {
+			text = new String(format(seconds, new char[5]));
+			secondTexts[seconds] = text;
+		}
+		return text;
+	}
+
+	/**
+	 * Returns text "MM:SS.T" of specified number of tenths of a second.
+	 *
+	 * @param tenths
+	 * @return String
+	 */
+	static String getTenthText(int tenths) {
+		String text = tenthTexts[tenths];
+		if (text == null) {
+			char[] chars = format(tenths / TENTHS, new char[7]);
+			chars[5] = '.';
+			chars[6] = (char) ('0' + tenths % TENTHS);
+			text = new String(chars);
+			tenthTexts[tenths] = text;
+		}
+		return text;
+	}
+
+	private static char[] format(int seconds, char[] chars) {
+		int minutes = seconds / SECONDS;
+		seconds %= SECONDS;
+		chars[0] = (char) ('0' + minutes / 10);
+		chars[1] = (char) ('0' + minutes % 10);
+		chars[2] = ':';
+		chars[3] = (char) ('0' + seconds / 10);
+		chars[4] = (char) ('0' + seconds % 10);
+		return chars;
 	}
-}
\ No newline at end of file
+}
@@ -12,34 +12,35 @@ package vkurman.jminesweeper;
 public interface ControlRequestsListener {
 	
 	/**
-	 * Request to get records.
+	 * Request to get all finished games.
 	 * 
-	 * @return Record[]
+	 * @return Leaderboard
 	 */
-	public Record[] getRecords();
+	public Leaderboard getRecords();
 	
 	/**
 	 * Request to reset records.
 	 * 
-	 * @return Record[]
+	 * @return Leaderboard
 	 */
-	public Record[] resetRecords();
+	public Leaderboard resetRecords();
 	
 	/**
 	 * Check if time is a new record.
 	 * 
 	 * @param time
-	 * @return int - index for new record in array
+	 *            - nanoseconds
+	 * @return int - place of new record or -1
 	 */
 	public int isRecord(long time);
 	
 	/**
-	 * Request to insert specified record at specified index in arrays.
+	 * Request to add finished game.
 	 * 
-	 * @param index
 	 * @param record
+	 * @return int - place of the game, counted from 0
 	 */
-	public void replaceRecord(int index, Record record);
+	public int addRecord(Record record);
 	
 	/**
 	 * Checks if game is running. Main purpose of it to control actions from mouse events.
@@ -79,11 +80,48 @@ public interface ControlRequestsListener {
 	 */
 	public void resetTimer();
 	
+	/**
+	 * Request about timer status. <code>true</code> is returned if timer is paused.
+	 * 
+	 * @return boolean
+	 */
+	public boolean isTimerPaused();
+	
+	/**
+	 * Request to pause running timer, time of the pause is not counted.
+	 */
+	public void pauseTimer();
+	
+	/**
+	 * Request to resume paused timer.
+	 */
+	public void resumeTimer();
+	
+	/**
+	 * Request about displayed time. <code>true</code> is returned if tenths of
+	 * a second are displayed.
+	 * 
+	 * @return boolean
+	 */
+	public boolean isTimerTenths();
+	
+	/**
+	 * Request to display tenths of a second, or whole seconds only.
+	 * 
+	 * @param tenths
+	 */
+	public void setTimerTenths(boolean tenths);
+	
 	/**
 	 * Signals about winning result.
 	 */
 	public void win();
 	
+	/**
+	 * Signals about losing result.
+	 */
+	public void lose();
+	
 	/**
 	 * Request to change difficulty level to specified value.
 	 * 
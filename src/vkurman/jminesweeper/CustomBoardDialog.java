@@ -0,0 +1,146 @@
+package vkurman.jminesweeper;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dialog;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.border.EmptyBorder;
+
+/**
+ * <code>CustomBoardDialog</code> is a basic JDialog that asks user to input
+ * number of rows, columns and mines for custom board.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class CustomBoardDialog extends JDialog implements ActionListener {
+
+	private static final long serialVersionUID = -4416230715309815537L;
+
+	public static final int MAX_ROWS = 10000;
+	public static final int MAX_COLUMNS = 10000;
+
+	private JSpinner spRows, spColumns, spMines;
+	private int rows, columns, mines;
+	private boolean okPressed;
+
+	/**
+	 * Constructor
+	 */
+	public CustomBoardDialog(Component parent, int rows, int columns,
+			int mines) {
+		this.rows = rows;
+		this.columns = columns;
+		this.mines = mines;
+
+		showUI(parent);
+	}
+
+	/**
+	 * Creates and displays UI.
+	 */
+	private void showUI(Component parent) {
+		setTitle("Custom board");
+		getContentPane().setLayout(new BorderLayout(10, 10));
+		setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+		setModalityType(Dialog.ModalityType.APPLICATION_MODAL);
+
+		spRows = new JSpinner(new SpinnerNumberModel(rows, 1, MAX_ROWS, 1));
+		spColumns = new JSpinner(new SpinnerNumberModel(columns, 1,
+				MAX_COLUMNS, 1));
+		spMines = new JSpinner(new SpinnerNumberModel(mines, 0, MAX_ROWS
+				* MAX_COLUMNS - 1, 1));
+
+		JPanel inputPanel = new JPanel();
+		inputPanel.setLayout(new GridLayout(3, 2, 5, 5));
+		inputPanel.setBorder(new EmptyBorder(10, 10, 0, 10));
+		inputPanel.add(new JLabel("Rows:"));
+		inputPanel.add(spRows);
+		inputPanel.add(new JLabel("Columns:"));
+		inputPanel.add(spColumns);
+		inputPanel.add(new JLabel("Mines:"));
+		inputPanel.add(spMines);
+		getContentPane().add(inputPanel, BorderLayout.CENTER);
+
+		JPanel buttonPane = new JPanel();
+		buttonPane.setLayout(new FlowLayout(FlowLayout.RIGHT));
+		getContentPane().add(buttonPane, BorderLayout.PAGE_END);
+
+		JButton okButton = new JButton("OK");
+		okButton.setActionCommand("OK");
+		okButton.addActionListener(this);
+		buttonPane.add(okButton);
+		getRootPane().setDefaultButton(okButton);
+
+		JButton cancelButton = new JButton("Cancel");
+		cancelButton.setActionCommand("Cancel");
+		cancelButton.addActionListener(this);
+		buttonPane.add(cancelButton);
+
+		pack();
+		setLocationRelativeTo(parent);
+		setVisible(true);
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	public int getMines() {
+		return mines;
+	}
+
+	/**
+	 * Returns true if <code>OK</code> button was pressed.
+	 *
+	 * @return boolean
+	 */
+	public boolean isOkPressed() {
+		return okPressed;
+	}
+
+	@Override
+	public void actionPerformed(ActionEvent ae) {
+		String action = ae.getActionCommand();
+
+		if (action.equals("OK")) {
+			int r = ((Number) spRows.getValue()).intValue();
+			int c = ((Number) spColumns.getValue()).intValue();
+			int m = ((Number) spMines.getValue()).intValue();
+
+			if (m >= r * c) {
+				JOptionPane.showMessageDialog(this,
+						"Number of mines must be less than number of cells ("
+								+ (r * c) + ").", "Custom board",
+						JOptionPane.ERROR_MESSAGE);
+				return;
+			}
+
+			rows = r;
+			columns = c;
+			mines = m;
+			okPressed = true;
+			dispose();
+		} else {
+			dispose();
+		}
+	}
+}
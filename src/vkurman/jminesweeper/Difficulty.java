@@ -13,7 +13,9 @@ public enum Difficulty {
 	
 	BEGINNER("Beginner", 9, 9, 10),
 	INTERMEDIATE("Intermediate", 16, 16, 40),
-	ADVANCED("Advanced", 16, 32, 99);
+	ADVANCED("Advanced", 16, 32, 99),
+	// Size of custom board is chosen by player, values below are defaults
+	CUSTOM("Custom", 100, 100, 1500);
 	
 	private String name;
 	private int rows = 16;
@@ -43,6 +45,34 @@ public enum Difficulty {
 		return name;
 	}
 
+	/**
+	 * Returns TRUE if board size and mines are chosen by player.
+	 * 
+	 * @return boolean
+	 */
+	public boolean isCustom() {
+		return this == CUSTOM;
+	}
+
+	/**
+	 * Returns difficulty level of the board with specified size and number of
+	 * mines, or <code>CUSTOM</code> if none of the levels matches.
+	 * 
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 * @return Difficulty
+	 */
+	public static Difficulty of(int rows, int columns, int mines) {
+		for (Difficulty difficulty : values()) {
+			if (!difficulty.isCustom() && difficulty.rows == rows
+					&& difficulty.columns == columns
+					&& difficulty.mines == mines)
+				return difficulty;
+		}
+		return CUSTOM;
+	}
+
 	@Override
 	public String toString(){
 		return name;
@@ -0,0 +1,275 @@
+package vkurman.jminesweeper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <code>GameEvents</code> holds Java Flight Recorder events of the game. They
+ * are all disabled unless recording is started with
+ * <code>jminesweeper.jfc</code>, for example
+ * <code>jcmd &lt;pid&gt; JFR.start settings=default settings=jminesweeper.jfc</code>.
+ *
+ * <p>
+ * Every event is created and begun before the measured work and ended after
+ * it. Fields are set and the event is committed only if
+ * <code>shouldCommit()</code> is TRUE, so that disabled event costs nothing
+ * but empty calls which JIT removes together with the event.
+ *
+ * <p>
+ * New game is recorded as <code>NewGame</code> with nested phases: mine
+ * placement and counting of mine neighbours run when the first cell is opened,
+ * or on the thread of <code>BoardPool</code> for no-guess boards, and the
+ * mine field is built on the event thread.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public final class GameEvents {
+
+	private static final String CATEGORY = "JMinesweeper";
+	private static final String NEW_GAME = "New Game";
+
+	private GameEvents() {
+	}
+
+	@Name("vkurman.jminesweeper.NewGame")
+	@Label("New Game")
+	@Description("New game started on the event thread, with the mine field built or reset")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	public static class NewGame extends Event {
+		@Label("Rows")
+		int rows;
+		@Label("Columns")
+		int columns;
+		@Label("Mines")
+		int mines;
+		@Label("Mines Placed")
+		@Description("Board came with mines placed, as no-guess board or board given by ID")
+		boolean minesPlaced;
+		@Label("Field Rebuilt")
+		boolean rebuilt;
+
+		void commit(Board board, boolean rebuilt) {
+			end();
+			if (!shouldCommit())
+				return;
+
+			rows = board.getRows();
+			columns = board.getColumns();
+			mines = board.getMines();
+			minesPlaced = board.isMinesPlaced();
+			this.rebuilt = rebuilt;
+			commit();
+		}
+	}
+
+	@Name("vkurman.jminesweeper.MinePlacement")
+	@Label("Mine Placement")
+	@Description("Mines drawn around the first cell, without counting of neighbours")
+	@Category({ CATEGORY, NEW_GAME })
+	@Enabled(false)
+	@StackTrace(false)
+	public static class MinePlacement extends Event {
+		@Label("Cells")
+		int cells;
+		@Label("Mines")
+		int mines;
+		@Label("Inverse")
+		@Description("Safe cells are drawn instead of mines")
+		boolean inverse;
+
+		void commit(int cells, int mines, boolean inverse) {
+			end();
+			if (!shouldCommit())
+				return;
+
+			this.cells = cells;
+			this.mines = mines;
+			this.inverse = inverse;
+			commit();
+		}
+	}
+
+	@Name("vkurman.jminesweeper.MineAdjacency")
+	@Label("Mine Adjacency")
+	@Description("Number of mines around every cell counted")
+	@Category({ CATEGORY, NEW_GAME })
+	@Enabled(false)
+	@StackTrace(false)
+	public static class MineAdjacency extends Event {
+		@Label("Cells")
+		int cells;
+		@Label("Parallel")
+		boolean parallel;
+
+		void commit(int cells, boolean parallel) {
+			end();
+			if (!shouldCommit())
+				return;
+
+			this.cells = cells;
+			this.parallel = parallel;
+			commit();
+		}
+	}
+
+	@Name("vkurman.jminesweeper.FieldBuild")
+	@Label("Field Build")
+	@Description("Mine field components built, or reset for the board of the same size")
+	@Category({ CATEGORY, NEW_GAME })
+	@Enabled(false)
+	@StackTrace(false)
+	public static class FieldBuild extends Event {
+		@Label("Cells")
+		int cells;
+		@Label("Classic")
+		@Description("Field is built from a panel per cell")
+		boolean classic;
+		@Label("Rebuilt")
+		boolean rebuilt;
+
+		void commit(int cells, boolean classic, boolean rebuilt) {
+			end();
+			if (!shouldCommit())
+				return;
+
+			this.cells = cells;
+			this.classic = classic;
+			this.rebuilt = rebuilt;
+			commit();
+		}
+	}
+
+	@Name("vkurman.jminesweeper.FloodFill")
+	@Label("Flood Fill")
+	@Description("Cells opened by a click, with empty regions around them")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	public static class FloodFill extends Event {
+		@Label("Row")
+		int row;
+		@Label("Column")
+		int column;
+		@Label("Chord")
+		@Description("Cells around numbered cell are opened")
+		boolean chord;
+		@Label("Opened")
+		int opened;
+
+		void commit(int row, int column, boolean chord, int opened) {
+			end();
+			if (!shouldCommit())
+				return;
+
+			this.row = row;
+			this.column = column;
+			this.chord = chord;
+			this.opened = opened;
+			commit();
+		}
+	}
+
+	@Name("vkurman.jminesweeper.WinCheck")
+	@Label("Win Check")
+	@Description("Board checked for lost or won game after a click")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	public static class WinCheck extends Event {
+		@Label("Lost")
+		boolean lost;
+		@Label("Won")
+		boolean won;
+		@Label("Covered Safe Cells")
+		int coveredSafeCells;
+
+		void commit(boolean lost, boolean won, int coveredSafeCells) {
+			end();
+			if (!shouldCommit())
+				return;
+
+			this.lost = lost;
+			this.won = won;
+			this.coveredSafeCells = coveredSafeCells;
+			commit();
+		}
+	}
+
+	@Name("vkurman.jminesweeper.RecordsIo")
+	@Label("Records I/O")
+	@Description("Games of a difficulty read from, saved to or appended to the records")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	public static class RecordsIo extends Event {
+		public static final String READ = "read";
+		public static final String SAVE = "save";
+		public static final String APPEND = "append";
+
+		@Label("Operation")
+		String operation;
+		@Label("Difficulty")
+		String difficulty;
+		@Label("Games")
+		int games;
+		@Label("Succeeded")
+		boolean succeeded;
+
+		void commit(String operation, Difficulty difficulty, int games,
+				boolean succeeded) {
+			end();
+			if (!shouldCommit())
+				return;
+
+			this.operation = operation;
+			this.difficulty = difficulty.getName();
+			this.games = games;
+			this.succeeded = succeeded;
+			commit();
+		}
+	}
+
+	@Name("vkurman.jminesweeper.DifficultySwitch")
+	@Label("Difficulty Switch")
+	@Description("Difficulty changed, including the new game on the new board")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	public static class DifficultySwitch extends Event {
+		@Label("From")
+		String from;
+		@Label("To")
+		String to;
+		@Label("Rows")
+		int rows;
+		@Label("Columns")
+		int columns;
+		@Label("Mines")
+		int mines;
+
+		void commit(Difficulty from, Difficulty to, int rows, int columns,
+				int mines) {
+			end();
+			if (!shouldCommit())
+				return;
+
+			this.from = from.getName();
+			this.to = to.getName();
+			this.rows = rows;
+			this.columns = columns;
+			this.mines = mines;
+			commit();
+		}
+	}
+}
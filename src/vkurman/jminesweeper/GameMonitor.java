@@ -0,0 +1,168 @@
+package vkurman.jminesweeper;
+
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * <code>GameMonitor</code> exposes live metrics of the game through JMX, so
+ * that the game can be watched with JConsole or any JMX based monitoring.
+ * Counters are read from the thread of the caller. Swing components are
+ * counted and new game is started on the event thread.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class GameMonitor implements GameMonitorMBean {
+
+	public static final String OBJECT_NAME = "vkurman.jminesweeper:type=Game";
+	private static final double NANOS_PER_MILLI = 1000000.0;
+
+	private final JMinesweeper game;
+	private final RecordsStore recordsStore;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param game
+	 * @param recordsStore
+	 */
+	public GameMonitor(JMinesweeper game, RecordsStore recordsStore) {
+		this.game = game;
+		this.recordsStore = recordsStore;
+	}
+
+	@Override
+	public String getDifficulty() {
+		return game.getDifficulty().getName();
+	}
+
+	@Override
+	public long getGamesStarted() {
+		return game.getGamesStarted();
+	}
+
+	@Override
+	public long getGamesWon() {
+		return game.getGamesWon();
+	}
+
+	@Override
+	public long getGamesLost() {
+		return game.getGamesLost();
+	}
+
+	@Override
+	public long getClicks() {
+		JMinesweeperUI gui = game.getGui();
+		return (gui == null) ? 0 : gui.getLatencyMonitor().getTotal()
+				.getCount();
+	}
+
+	@Override
+	public double getClickLatencyMean() {
+		JMinesweeperUI gui = game.getGui();
+		return (gui == null) ? 0 : gui.getLatencyMonitor().getTotal()
+				.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getClickLatencyP99() {
+		JMinesweeperUI gui = game.getGui();
+		return (gui == null) ? 0 : gui.getLatencyMonitor().getTotal()
+				.getPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getBoardGenerationTime() {
+		JMinesweeperUI gui = game.getGui();
+		if (gui == null)
+			return 0;
+
+		BoardPool pool = gui.getBoardPool();
+		long created = pool.getCreated();
+		return (created == 0) ? 0 : pool.getCreationTime() / created
+				/ NANOS_PER_MILLI;
+	}
+
+	@Override
+	public long getBoardPoolHits() {
+		JMinesweeperUI gui = game.getGui();
+		return (gui == null) ? 0 : gui.getBoardPool().getHits();
+	}
+
+	@Override
+	public long getBoardPoolMisses() {
+		JMinesweeperUI gui = game.getGui();
+		return (gui == null) ? 0 : gui.getBoardPool().getMisses();
+	}
+
+	@Override
+	public double getRecordsIoTime() {
+		return recordsStore.getIoTime() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public int getFieldComponents() {
+		final JMinesweeperUI gui = game.getGui();
+		if (gui == null)
+			return 0;
+		if (EventQueue.isDispatchThread())
+			return gui.getFieldComponents();
+
+		final int[] count = new int[1];
+		try {
+			EventQueue.invokeAndWait(new Runnable() {
+				@Override
+				public void run() {
+					count[0] = gui.getFieldComponents();
+				}
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (InvocationTargetException e) {
+			System.out.println("***Error counting components***");
+		}
+		return count[0];
+	}
+
+	@Override
+	public void newGame() {
+		final JMinesweeperUI gui = game.getGui();
+		if (gui == null)
+			return;
+
+		EventQueue.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				gui.actionPerformed(new ActionEvent(GameMonitor.this,
+						ActionEvent.ACTION_PERFORMED, "New Game"));
+			}
+		});
+	}
+
+	@Override
+	public String dumpMetrics() {
+		StringBuilder metrics = new StringBuilder();
+		metrics.append("Difficulty: ").append(getDifficulty()).append('\n');
+		metrics.append("GamesStarted: ").append(getGamesStarted()).append('\n');
+		metrics.append("GamesWon: ").append(getGamesWon()).append('\n');
+		metrics.append("GamesLost: ").append(getGamesLost()).append('\n');
+		metrics.append("Clicks: ").append(getClicks()).append('\n');
+		metrics.append("ClickLatencyMean: ").append(format(getClickLatencyMean())).append('\n');
+		metrics.append("ClickLatencyP99: ").append(format(getClickLatencyP99())).append('\n');
+		metrics.append("BoardGenerationTime: ").append(format(getBoardGenerationTime())).append('\n');
+		metrics.append("BoardPoolHits: ").append(getBoardPoolHits()).append('\n');
+		metrics.append("BoardPoolMisses: ").append(getBoardPoolMisses()).append('\n');
+		metrics.append("RecordsIoTime: ").append(format(getRecordsIoTime())).append('\n');
+		metrics.append("FieldComponents: ").append(getFieldComponents()).append('\n');
+		return metrics.toString();
+	}
+
+	private static String format(double millis) {
+		return String.format("%.3f ms", millis);
+	}
+}
@@ -0,0 +1,64 @@
+package vkurman.jminesweeper;
+
+/**
+ * <code>GameMonitorMBean</code> is management interface of the running game,
+ * registered as <code>vkurman.jminesweeper:type=Game</code>. Times are in
+ * milliseconds.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public interface GameMonitorMBean {
+
+	public String getDifficulty();
+
+	public long getGamesStarted();
+
+	public long getGamesWon();
+
+	public long getGamesLost();
+
+	public long getClicks();
+
+	/**
+	 * Mean time from click to repainted mine field.
+	 */
+	public double getClickLatencyMean();
+
+	/**
+	 * Time from click to repainted mine field of 99% of clicks.
+	 */
+	public double getClickLatencyP99();
+
+	/**
+	 * Mean time of creating a board, including generation of no-guess boards.
+	 */
+	public double getBoardGenerationTime();
+
+	public long getBoardPoolHits();
+
+	public long getBoardPoolMisses();
+
+	/**
+	 * Time spent reading and writing records since start.
+	 */
+	public double getRecordsIoTime();
+
+	/**
+	 * Number of Swing components in the mine field, including the field.
+	 */
+	public int getFieldComponents();
+
+	/**
+	 * Starts new game of the current difficulty.
+	 */
+	public void newGame();
+
+	/**
+	 * Returns all metrics as text, one per line.
+	 */
+	public String dumpMetrics();
+}
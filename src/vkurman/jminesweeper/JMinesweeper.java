@@ -1,13 +1,11 @@
 package vkurman.jminesweeper;
 
 import java.awt.EventQueue;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileInputStream;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
 import javax.swing.JOptionPane;
 
 /**
@@ -24,111 +22,89 @@ public class JMinesweeper implements ControlRequestsListener, TimerListener {
 
 	public static final String extension = ".txt";
 	public static final char separator = ':';
+	// Milliseconds to wait for records and replays to be written on exit
+	private static final long FLUSH_TIMEOUT = 5000;
 
-	private JMinesweeperUI gui;
+	// Read by GameMonitor on threads of JMX
+	private volatile JMinesweeperUI gui;
 	private Stopwatch stopwatch;
 	private ClockListener clockListener;
-	private Record[] records = new Record[10];
+	private RecordsStore recordsStore;
 	private boolean running;
 
-	private Difficulty difficulty;
+	private volatile Difficulty difficulty;
+	private final AtomicLong gamesStarted = new AtomicLong();
+	private final AtomicLong gamesWon = new AtomicLong();
+	private final AtomicLong gamesLost = new AtomicLong();
 
 	private JMinesweeper() {
 		running = false;
 		difficulty = Difficulty.INTERMEDIATE;
 
-		for (int i = 0; i < records.length; i++) {
-			records[i] = new Record();
-		}
-
-		readRecords();
+		// Records of all difficulties are read in the background
+		recordsStore = new RecordsStore(new RecordsFile());
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			@Override
+			public void run() {
+				flushRecords();
+			}
+		}, "RecordsFlush"));
 
+		// Displayed time is taken from the stopwatch when it changes
+		stopwatch = new Stopwatch();
 		clockListener = new ClockListener();
 		clockListener.setTimerListener(this);
+		clockListener.setStopwatch(stopwatch);
 
-		stopwatch = new Stopwatch(1000, clockListener);
-		stopwatch.setInitialDelay(0);
+		// Metrics can be watched with JConsole
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(
+					new GameMonitor(this, recordsStore),
+					new ObjectName(GameMonitor.OBJECT_NAME));
+		} catch (JMException e) {
+			System.out.println("***Error registering game monitor***");
+		}
 	}
 
 	@Override
-	public Record[] getRecords() {
-		return records;
-	}
-
-	private void readRecords() {
-		try {
-			FileInputStream fis = new FileInputStream(difficulty.getName()
-					+ extension);
-			BufferedReader br = new BufferedReader(new InputStreamReader(fis));
-			String strLine;
-			// read content of file
-			for (int i = 0; i < records.length; i++) {
-				if ((strLine = br.readLine()) != null) {
-					int index = strLine.indexOf(separator);
-					records[i].setName(strLine.substring(0, index));
-					records[i].setTime(Long.parseLong(strLine.substring(
-							index + 1, strLine.length())));
-				}
-			}
-			// Close the input stream
-			br.close();
-		} catch (IOException e) {
-			System.out.println("***Error reading records***");
-		}
+	public Leaderboard getRecords() {
+		return recordsStore.getRecords(difficulty);
 	}
 
 	/**
-	 * Saving records to the file.
+	 * Waits for records and replays to be written before application exits,
+	 * and writes latency of clicks.
 	 */
-	private void saveRecords() {
+	private void flushRecords() {
 		try {
-			BufferedWriter out = new BufferedWriter(new FileWriter(
-					difficulty.getName() + extension));
-			for (int i = 0; i < records.length; i++) {
-				out.write(records[i].getName() + JMinesweeper.separator
-						+ records[i].getTime());
-				out.newLine();
-			}
-			out.close();
-		} catch (IOException e) {
+			if (!recordsStore.flush(FLUSH_TIMEOUT))
+				System.out.println("***Error saving records***");
+			if (gui != null && !gui.flushReplays(FLUSH_TIMEOUT))
+				System.out.println("***Error saving replay***");
+			if (gui != null)
+				gui.exportLatencies();
+		} catch (InterruptedException e) {
 			System.out.println("***Error saving records***");
 		}
 	}
 
 	/**
-	 * Replaces records starting from supplied index and saves to the file.
+	 * Adds finished game, games are written in the background.
 	 * 
-	 * @param index
 	 * @param record
+	 * @return int - place of the game, counted from 0
 	 */
-	public void replaceRecord(int index, Record record) {
-		if (index < 0 || index > records.length - 1)
-			return;
-
-		Record temp;
-
-		for (int i = index; i < records.length; i++) {
-			temp = records[i];
-			records[i] = record;
-			record = temp;
-		}
-
-		saveRecords();
+	@Override
+	public int addRecord(Record record) {
+		return recordsStore.addRecord(difficulty, record);
 	}
 
 	/**
-	 * Resetting records and writing to file
+	 * Resetting records, records are written in the background.
 	 */
 	@Override
-	public Record[] resetRecords() {
-		for (int i = 0; i < records.length; i++) {
-			records[i].setName(Record.defaultName);
-			records[i].setTime(Record.defaultTime);
-		}
-
-		saveRecords();
-
-		return records;
+	public Leaderboard resetRecords() {
+		return recordsStore.resetRecords(difficulty);
 	}
 
 	/**
@@ -139,12 +115,7 @@ public class JMinesweeper implements ControlRequestsListener, TimerListener {
 	 */
 	@Override
 	public int isRecord(long time) {
-		for (int i = 0; i < records.length; i++) {
-			if (records[i].getTime() == 0l || time < records[i].getTime()) {
-				return i;
-			}
-		}
-		return -1;
+		return recordsStore.isRecord(difficulty, time);
 	}
 
 	@Override
@@ -155,6 +126,7 @@ public class JMinesweeper implements ControlRequestsListener, TimerListener {
 	@Override
 	public void startGame() {
 		running = true;
+		gamesStarted.incrementAndGet();
 	}
 
 	@Override
@@ -171,6 +143,7 @@ public class JMinesweeper implements ControlRequestsListener, TimerListener {
 	public void startTimer() {
 		if (!stopwatch.isRunning()) {
 			stopwatch.start();
+			clockListener.update();
 		}
 	}
 
@@ -178,19 +151,51 @@ public class JMinesweeper implements ControlRequestsListener, TimerListener {
 	public void stopTimer() {
 		if (stopwatch.isRunning()) {
 			stopwatch.stop();
+			// Displaying exact final time
+			clockListener.update();
 		}
 	}
 
 	@Override
 	public void resetTimer() {
+		stopwatch.reset();
 		clockListener.resetCounter();
 	}
 
+	@Override
+	public boolean isTimerPaused() {
+		return stopwatch.isPaused();
+	}
+
+	@Override
+	public void pauseTimer() {
+		if (stopwatch.isRunning() && !stopwatch.isPaused()) {
+			stopwatch.pause();
+			clockListener.update();
+		}
+	}
+
+	@Override
+	public void resumeTimer() {
+		if (stopwatch.isPaused()) {
+			stopwatch.resume();
+			clockListener.update();
+		}
+	}
+
+	@Override
+	public boolean isTimerTenths() {
+		return clockListener.isTenths();
+	}
+
+	@Override
+	public void setTimerTenths(boolean tenths) {
+		clockListener.setTenths(tenths);
+	}
+
 	@Override
 	public void setDifficulty(Difficulty difficulty) {
 		this.difficulty = difficulty;
-
-		readRecords();
 	}
 
 	@Override
@@ -199,35 +204,82 @@ public class JMinesweeper implements ControlRequestsListener, TimerListener {
 	}
 
 	@Override
-	public void updateTime(int minutes, int seconds) {
+	public void updateTime(String time) {
 		if (gui == null)
 			return;
 
-		gui.updateTime(minutes, seconds);
+		gui.updateTime(time);
 	}
 
 	@Override
-	public void win() {
-		long time = stopwatch.getDurationTime();
-		int i = isRecord(time);
+	public void lose() {
+		gamesLost.incrementAndGet();
+	}
 
-		if (i >= 0 && i < records.length) {
-			String name = getPlayerName();
-			if (name != null) {
-				replaceRecord(i, new Record(name, time));
+	/**
+	 * Returns number of games started since start.
+	 * 
+	 * @return long
+	 */
+	long getGamesStarted() {
+		return gamesStarted.get();
+	}
 
-				{
-					// Displaying records table
-					RecordsView view = new RecordsView(gui, this);
-					view.setVisible(true);
-				}
+	/**
+	 * Returns number of games won since start.
+	 * 
+	 * @return long
+	 */
+	long getGamesWon() {
+		return gamesWon.get();
+	}
 
-				name = null;
-			}
-		} else {
+	/**
+	 * Returns number of games lost since start.
+	 * 
+	 * @return long
+	 */
+	long getGamesLost() {
+		return gamesLost.get();
+	}
+
+	/**
+	 * Returns GUI of the game, null until it is built.
+	 * 
+	 * @return JMinesweeperUI
+	 */
+	JMinesweeperUI getGui() {
+		return gui;
+	}
+
+	@Override
+	public void win() {
+		gamesWon.incrementAndGet();
+		long time = stopwatch.getElapsedTime();
+		// Records are not kept for custom boards of different sizes
+		if (difficulty.isCustom()) {
 			JOptionPane.showMessageDialog(null, "CONGRATULATIONS!!!"
 					+ "\nYou WON the Game!", "Win!!!",
 					JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+
+		// Every finished game is kept, name is asked only for records
+		int i = isRecord(time);
+		String name = (i >= 0) ? getPlayerName() : null;
+		int place = addRecord((name != null) ? new Record(name, time)
+				: new Record(time));
+
+		if (name != null) {
+			// Displaying records table with the new record selected
+			RecordsView view = new RecordsView(gui, this, place);
+			view.setVisible(true);
+		} else {
+			JOptionPane.showMessageDialog(null, "CONGRATULATIONS!!!"
+					+ "\nYou WON the Game in " + Record.formatTime(time)
+					+ "!\nPlace " + (place + 1) + " of "
+					+ getRecords().size(), "Win!!!",
+					JOptionPane.INFORMATION_MESSAGE);
 		}
 	}
 
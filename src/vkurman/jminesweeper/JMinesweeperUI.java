@@ -4,24 +4,29 @@ import java.awt.BorderLayout;
 import java.awt.CardLayout;
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.GridLayout;
+import java.awt.Insets;
 import java.awt.Point;
-import java.awt.Polygon;
 import java.awt.Shape;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.geom.Ellipse2D;
-import java.text.DecimalFormat;
-import java.text.ParseException;
-import java.util.Random;
+import java.io.IOException;
 
 import javax.swing.JButton;
+import javax.swing.JCheckBoxMenuItem;
+import javax.swing.JComponent;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JMenu;
@@ -29,10 +34,14 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
-import javax.swing.text.NumberFormatter;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 /**
  * <code>JMinesweeperUI</code> updated graphical user interface for Minesweeper game. Most
@@ -46,7 +55,8 @@ import javax.swing.text.NumberFormatter;
  * @author Vassili Kurman
  * @version 2.0
  */
-public class JMinesweeperUI extends JFrame implements ActionListener {
+public class JMinesweeperUI extends JFrame implements ActionListener,
+		CellListener, ReplayListener {
 
 	private static final long serialVersionUID = 1096394176253637853L;
 	private static final String TITLE = "JMinesweeper";
@@ -54,32 +64,43 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 	private static final int FRAME_POSITION_Y = 100;
 	public static final int CELL_WIDTH = 27;
 	public static final int CELL_HEIGHT = 27;
+	// Cell sizes available for zooming mine field, CELL_WIDTH is default
+	private static final int[] ZOOM_CELL_SIZES = { 3, 5, 9, 14, 20, 27, 36, 48 };
+	private static final int DEFAULT_ZOOM = 5;
 
-	private static final Color BORDER_COLOR = Color.BLACK;
+	private static final Color BORDER_COLOR = MineField.BORDER_COLOR;
 	private static final Color BUTTON_COLOR_NEUTRAL = Color.YELLOW;
 	private static final Color BUTTON_COLOR_HAPPY = Color.GREEN;
 	private static final Color BUTTON_COLOR_SAD = Color.RED;
-	private static final Color COVER_PANEL_COLOR = new Color(192, 192, 192);
-	private static final Color CONTENT_PANEL_COLOR = new Color(224, 224, 224);
+	private static final Color COVER_PANEL_COLOR = MineField.COVER_COLOR;
+	private static final Color CONTENT_PANEL_COLOR = MineField.CONTENT_COLOR;
 
 	private static final Font TIMER_FONT = new Font("Times", Font.BOLD, 28);
 
-	private static final Color COLOR_NUMBER_1 = Color.RED;
-	private static final Color COLOR_NUMBER_2 = Color.GREEN;
-	private static final Color COLOR_NUMBER_3 = Color.BLUE;
-	private static final Color COLOR_NUMBER_4 = Color.ORANGE;
-	private static final Color COLOR_NUMBER_5 = Color.MAGENTA;
-	private static final Color COLOR_NUMBER_6 = Color.CYAN;
-	private static final Color COLOR_NUMBER_7 = Color.YELLOW;
-	private static final Color COLOR_NUMBER_8 = Color.BLACK;
-
 	private ControlRequestsListener controlRequestsListener;
 
-	private final NumberFormatter nformat;
 	private Dimension fieldSize;
-	private JLabel lblMines, lblDifficulty, lblTimer;
-	private int rows, columns, mines, leftMines;
+	private JLabel lblMines, lblDifficulty;
+	private TimerLabel lblTimer;
+	private int rows, columns, mines;
+	private Board board;
 	private Cell[][] cells;
+	private MineField mineField;
+	// Dimensions of the mine field currently in content pane
+	private int fieldRows, fieldColumns;
+	private boolean classicField;
+	private int zoom = DEFAULT_ZOOM;
+	private JCheckBoxMenuItem mntmClassicField;
+	private boolean noGuess;
+	private JCheckBoxMenuItem mntmNoGuess;
+	private JCheckBoxMenuItem mntmPause;
+	// Mine field in content pane, hidden while the game is paused
+	private JComponent field;
+	private final BoardPool boardPool = new BoardPool();
+	private final ReplayRecorder replayRecorder = new ReplayRecorder();
+	private ReplayView replayView;
+	private final LatencyMonitor latencyMonitor = new LatencyMonitor();
+	private LatencyOverlay latencyOverlay;
 
 	private Difficulty difficulty;
 	private JPanel contentPane;
@@ -93,18 +114,15 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		this.difficulty = difficulty;
 		this.controlRequestsListener = controlRequestsListener;
 
-		nformat = new NumberFormatter(new DecimalFormat("00"));
-
 		mines = difficulty.getMines();
 		rows = difficulty.getRows();
 		columns = difficulty.getColumns();
-		leftMines = mines;
 
 		// Initial Difficulty level is medium
-		lblMines = new JLabel(Integer.toString(leftMines));
+		lblMines = new JLabel(Integer.toString(mines));
 		lblDifficulty = new JLabel(difficulty.getName());
 
-		lblTimer = new JLabel("00:00");
+		lblTimer = new TimerLabel("00:00");
 		lblTimer.setBackground(Color.BLACK);
 		lblTimer.setForeground(Color.RED);
 		lblTimer.setFont(TIMER_FONT);
@@ -143,6 +161,7 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		setJMenuBar(menuBar);
 
 		menuBar.add(getFileMenu());
+		menuBar.add(getViewMenu());
 		menuBar.add(getHelpMenu());
 	}
 
@@ -159,6 +178,14 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		mntmNewGame.addActionListener(this);
 		mnFile.add(mntmNewGame);
 
+		mntmPause = new JCheckBoxMenuItem("Pause");
+		mntmPause.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_P,
+				InputEvent.CTRL_DOWN_MASK));
+		mntmPause.setToolTipText("Stops the clock and hides mine field");
+		mntmPause.setActionCommand("Pause");
+		mntmPause.addActionListener(this);
+		mnFile.add(mntmPause);
+
 		mnFile.addSeparator();
 
 		JMenu mntmDifficulty = new JMenu("Difficulty");
@@ -181,6 +208,10 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 				+ Difficulty.ADVANCED.getMines() + " mines)");
 		mntmAdvanced.setActionCommand(Difficulty.ADVANCED.getName());
 		mntmAdvanced.addActionListener(this);
+		JMenuItem mntmCustom = new JMenuItem(Difficulty.CUSTOM.getName()
+				+ "...");
+		mntmCustom.setActionCommand(Difficulty.CUSTOM.getName());
+		mntmCustom.addActionListener(this);
 
 		JMenuItem mntmRecords = new JMenuItem("Records");
 		mntmRecords.setActionCommand("Records");
@@ -190,8 +221,27 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		mntmDifficulty.add(mntmBeginner);
 		mntmDifficulty.add(mntmIntermediate);
 		mntmDifficulty.add(mntmAdvanced);
+		mntmDifficulty.add(mntmCustom);
 		mnFile.add(mntmDifficulty);
 
+		mntmNoGuess = new JCheckBoxMenuItem("No-guess Boards", noGuess);
+		mntmNoGuess.setToolTipText("Boards can be solved without guessing from the center cell");
+		mntmNoGuess.setActionCommand("No-guess Boards");
+		mntmNoGuess.addActionListener(this);
+		mnFile.add(mntmNoGuess);
+
+		JMenuItem mntmBoardId = new JMenuItem("Board ID...");
+		mntmBoardId.setToolTipText("Shows ID of this board or plays board with typed ID");
+		mntmBoardId.setActionCommand("Board ID");
+		mntmBoardId.addActionListener(this);
+		mnFile.add(mntmBoardId);
+
+		JMenuItem mntmReplay = new JMenuItem("Replay...");
+		mntmReplay.setToolTipText("Plays back recorded game");
+		mntmReplay.setActionCommand("Replay");
+		mntmReplay.addActionListener(this);
+		mnFile.add(mntmReplay);
+
 		mnFile.addSeparator();
 
 		JMenuItem mntmExit = new JMenuItem("Exit");
@@ -202,6 +252,64 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		return mnFile;
 	}
 
+	/**
+	 * Building and returning View JMenu.
+	 * 
+	 * @return JMenu
+	 */
+	private JMenu getViewMenu() {
+		JMenu mnView = new JMenu("View");
+
+		int shortcut = InputEvent.CTRL_DOWN_MASK;
+
+		JMenuItem mntmZoomIn = new JMenuItem("Zoom In");
+		mntmZoomIn.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_EQUALS,
+				shortcut));
+		mntmZoomIn.setActionCommand("Zoom In");
+		mntmZoomIn.addActionListener(this);
+		mnView.add(mntmZoomIn);
+
+		JMenuItem mntmZoomOut = new JMenuItem("Zoom Out");
+		mntmZoomOut.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_MINUS,
+				shortcut));
+		mntmZoomOut.setActionCommand("Zoom Out");
+		mntmZoomOut.addActionListener(this);
+		mnView.add(mntmZoomOut);
+
+		JMenuItem mntmActualSize = new JMenuItem("Actual Size");
+		mntmActualSize.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_0,
+				shortcut));
+		mntmActualSize.setActionCommand("Actual Size");
+		mntmActualSize.addActionListener(this);
+		mnView.add(mntmActualSize);
+
+		mnView.addSeparator();
+
+		mntmClassicField = new JCheckBoxMenuItem("Classic Mine Field",
+				classicField);
+		mntmClassicField.setToolTipText("Builds mine field from a panel per cell");
+		mntmClassicField.setActionCommand("Classic Mine Field");
+		mntmClassicField.addActionListener(this);
+		mnView.add(mntmClassicField);
+
+		JCheckBoxMenuItem mntmTenths = new JCheckBoxMenuItem(
+				"Tenths of a Second", controlRequestsListener != null
+						&& controlRequestsListener.isTimerTenths());
+		mntmTenths.setToolTipText("Displays time of the game to a tenth of a second");
+		mntmTenths.setActionCommand("Tenths of a Second");
+		mntmTenths.addActionListener(this);
+		mnView.add(mntmTenths);
+
+		JCheckBoxMenuItem mntmLatency = new JCheckBoxMenuItem(
+				"Latency Overlay");
+		mntmLatency.setToolTipText("Shows time from click to repainted mine field");
+		mntmLatency.setActionCommand("Latency Overlay");
+		mntmLatency.addActionListener(this);
+		mnView.add(mntmLatency);
+
+		return mnView;
+	}
+
 	/**
 	 * Building and returning Help JMenu.
 	 * 
@@ -224,21 +332,72 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 	}
 
 	private void resetDifficulty() {
+		resetDifficulty(difficulty.getRows(), difficulty.getColumns(),
+				difficulty.getMines());
+	}
+
+	/**
+	 * Changes board size and number of mines and starts new game.
+	 * 
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 */
+	private void resetDifficulty(int rows, int columns, int mines) {
+		resetDifficulty(rows, columns, mines, null);
+	}
+
+	/**
+	 * Changes board size and number of mines and starts new game on
+	 * specified board, or on new board if it is null.
+	 * 
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 * @param newBoard
+	 */
+	private void resetDifficulty(int rows, int columns, int mines,
+			Board newBoard) {
 		if (controlRequestsListener == null)
 			return;
 
+		GameEvents.DifficultySwitch event = new GameEvents.DifficultySwitch();
+		event.begin();
+		Difficulty previous = controlRequestsListener.getDifficulty();
+		setBoardSize(rows, columns, mines);
+
+		// Starting new game
+		if (newBoard == null) {
+			newGame();
+		} else {
+			newGame(newBoard);
+		}
+		event.commit(previous, difficulty, rows, columns, mines);
+	}
+
+	/**
+	 * Changes board size and number of mines of the current difficulty,
+	 * without starting new game.
+	 * 
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 */
+	private void setBoardSize(int rows, int columns, int mines) {
 		controlRequestsListener.setDifficulty(difficulty);
 
-		mines = difficulty.getMines();
-		rows = difficulty.getRows();
-		columns = difficulty.getColumns();
-		leftMines = mines;
+		this.mines = mines;
+		this.rows = rows;
+		this.columns = columns;
 
-		lblMines.setText(Integer.toString(leftMines));
-		lblDifficulty.setText(difficulty.getName());
+		// Classic field and no-guess boards are not available for custom
+		// boards
+		mntmClassicField.setEnabled(!difficulty.isCustom());
+		mntmNoGuess.setEnabled(!difficulty.isCustom());
+		setResizable(difficulty.isCustom());
 
-		// Starting new game
-		newGame();
+		lblMines.setText(Integer.toString(mines));
+		lblDifficulty.setText(difficulty.getName());
 	}
 
 	/**
@@ -250,7 +409,8 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		contentPane.setLayout(new BorderLayout());
 
 		contentPane.add(getTopPanel(), BorderLayout.PAGE_START);
-		contentPane.add(getNewMineField(), BorderLayout.CENTER);
+		field = getNewMineField();
+		contentPane.add(field, BorderLayout.CENTER);
 		contentPane.add(getInformationPanel(), BorderLayout.PAGE_END);
 
 		setContentPane(contentPane);
@@ -285,11 +445,28 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 	}
 
 	/**
-	 * Creating new MineField.
+	 * Creating new mine field. By default whole field is painted by single
+	 * <code>MineField</code> component, classic field is built from
+	 * <code>Cell</code> panels.
 	 * 
-	 * @return JPanel
+	 * @return JComponent
 	 */
-	private JPanel getNewMineField() {
+	private JComponent getNewMineField() {
+		fieldRows = rows;
+		fieldColumns = columns;
+		if (!isClassicField()) {
+			cells = null;
+			mineField = new MineField(board, ZOOM_CELL_SIZES[zoom],
+					ZOOM_CELL_SIZES[zoom], this);
+
+			JScrollPane scrollPane = new JScrollPane(mineField);
+			scrollPane.setBorder(null);
+			return scrollPane;
+		}
+
+		mineField = null;
+		// Initialising array length
+		cells = new Cell[rows][columns];
 		fieldSize = new Dimension(CELL_WIDTH * columns, CELL_HEIGHT * rows);
 
 		JPanel field = new JPanel();
@@ -309,6 +486,45 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		return field;
 	}
 
+	/**
+	 * Returns TRUE if mine field has to be built from <code>Cell</code>
+	 * panels.
+	 * 
+	 * @return boolean
+	 */
+	private boolean isClassicField() {
+		return classicField && !difficulty.isCustom();
+	}
+
+	/**
+	 * Returns TRUE if mine field in content pane has the same dimensions and
+	 * type as required for new game, so that it can be reused.
+	 * 
+	 * @return boolean
+	 */
+	private boolean isFieldReusable() {
+		if (contentPane == null || fieldRows != rows
+				|| fieldColumns != columns)
+			return false;
+		return isClassicField() ? cells != null : mineField != null;
+	}
+
+	/**
+	 * Covers all cells of existing mine field for the new board model.
+	 */
+	private void resetField() {
+		if (mineField != null) {
+			mineField.setBoard(board);
+			return;
+		}
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				cells[row][column].reset();
+			}
+		}
+	}
+
 	/**
 	 * Returning JPanel containing information about game difficulty and how
 	 * many mines left to open.
@@ -336,22 +552,39 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 	}
 
 	/**
-	 * This method starts new game rebuilding Cells, placing mines, etc.
+	 * This method starts new game taking new board model. Content pane is
+	 * only rebuilt if dimensions or type of the mine field have changed,
+	 * otherwise existing Cells are covered again.
 	 */
 	private void newGame() {
-		// Initialising array length
-		cells = new Cell[rows][columns];
-		// Resetting leftMines variable
-		leftMines = mines;
-		// Changing text on Mines label
-		lblMines.setText(Integer.toString(leftMines));
-		btnNewGame.setBackground(BUTTON_COLOR_NEUTRAL);
-		// Setting content panel
-		setContent();
-		// Placing mines in random cells
-		placeMines();
-		// Marking cells
-		markMineNeighbours();
+		// Taking ready board model, mines of ordinary board are placed when
+		// first cell is opened
+		newGame(boardPool.take(rows, columns, mines, noGuess
+				&& !difficulty.isCustom()));
+	}
+
+	/**
+	 * Starts new game on specified board. If mines of the board have been
+	 * placed already, the cell they have been placed around is opened.
+	 * 
+	 * @param newBoard
+	 */
+	private void newGame(Board newBoard) {
+		GameEvents.NewGame event = new GameEvents.NewGame();
+		event.begin();
+		if (replayView != null) {
+			// Replay plays on the board of previous game
+			replayView.dispose();
+			replayView = null;
+		}
+		// Replay of unfinished previous game is kept as well
+		replayRecorder.start(newBoard);
+		boolean rebuilt = setBoard(newBoard);
+		if (board.isMinesPlaced()) {
+			// Opening start cell of no-guess board or board given by ID
+			refreshOpened(open(board.getFirstRow(), board.getFirstColumn(),
+					false));
+		}
 
 		if (controlRequestsListener != null) {
 			// Setting game in progress to TRUE
@@ -360,27 +593,36 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 			controlRequestsListener.resetTimer();
 		}
 		// Call to JFrame pack() method to resize
-
-		pack();
+		if (rebuilt)
+			pack();
+		event.commit(board, rebuilt);
 	}
 
 	/**
-	 * Checking if the game has been won.
+	 * Shows specified board on the mine field with all cells covered. Content
+	 * pane is only rebuilt if dimensions or type of the mine field have
+	 * changed.
+	 * 
+	 * @param newBoard
+	 * @return boolean - TRUE if content pane has been rebuilt
 	 */
-	private boolean checkWin() {
-		for (int r = 0; r < rows; r++) {
-			for (int c = 0; c < columns; c++) {
-				if (!cells[r][c].isOpened()) {
-					if (!cells[r][c].isFlagged())
-						return false;
-					if (cells[r][c].isFlagged()) {
-						if (!cells[r][c].hasMine())
-							return false;
-					}
-				}
-			}
+	private boolean setBoard(Board newBoard) {
+		board = newBoard;
+		setPaused(false);
+		// Changing text on Mines label
+		lblMines.setText(Integer.toString(board.getLeftMines()));
+		btnNewGame.setBackground(BUTTON_COLOR_NEUTRAL);
+		// Setting content panel
+		GameEvents.FieldBuild build = new GameEvents.FieldBuild();
+		build.begin();
+		boolean rebuilt = !isFieldReusable();
+		if (rebuilt) {
+			setContent();
+		} else {
+			resetField();
 		}
-		return true;
+		build.commit(rows * columns, mineField == null, rebuilt);
+		return rebuilt;
 	}
 
 	/**
@@ -392,6 +634,7 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 
 		controlRequestsListener.stopGame();
 		controlRequestsListener.stopTimer();
+		replayRecorder.finish();
 
 		// Displaying Message Dialog
 		btnNewGame.setBackground(BUTTON_COLOR_HAPPY);
@@ -408,6 +651,8 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 
 		controlRequestsListener.stopGame();
 		controlRequestsListener.stopTimer();
+		controlRequestsListener.lose();
+		replayRecorder.finish();
 
 		// Displaying Message Dialog
 		btnNewGame.setBackground(BUTTON_COLOR_SAD);
@@ -419,23 +664,39 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 	}
 
 	/**
-	 * This method places mines in the Random Cell.
+	 * Finishes replay of the current game and waits until replays are
+	 * written, or until timeout expires.
+	 * 
+	 * @param timeout
+	 *            - milliseconds
+	 * @return boolean - TRUE if all replays are written
+	 * @throws InterruptedException
 	 */
-	private void placeMines() {
-		Random random = new Random();
-
-		for (int mine = mines; mine > 0; mine--) {
-			boolean placed = false;
-			while (!placed) {
-				int r = random.nextInt(rows);
-				int c = random.nextInt(columns);
-
-				if (cells[r][c].isEmpty()) {
-					cells[r][c].placeMine();
-					placed = true;
-				}
+	public boolean flushReplays(long timeout) throws InterruptedException {
+		return replayRecorder.flush(timeout);
+	}
+
+	/**
+	 * Pauses or resumes the game. Only game with running clock can be paused,
+	 * mine field is hidden until the game is resumed.
+	 * 
+	 * @param paused
+	 */
+	private void setPaused(boolean paused) {
+		if (controlRequestsListener != null) {
+			if (paused && controlRequestsListener.isGameRunning()
+					&& controlRequestsListener.isTimerRunning()) {
+				controlRequestsListener.pauseTimer();
+			} else {
+				controlRequestsListener.resumeTimer();
 			}
 		}
+
+		paused = controlRequestsListener != null
+				&& controlRequestsListener.isTimerPaused();
+		mntmPause.setSelected(paused);
+		if (field != null)
+			field.setVisible(!paused);
 	}
 
 	/**
@@ -447,95 +708,123 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 	 * @return boolean
 	 */
 	public boolean isCellPositionValid(int row, int column) {
-		return (row >= 0 && row < rows && column >= 0 && column < columns) ? true
-				: false;
+		return board.isCellPositionValid(row, column);
 	}
 
 	/**
-	 * This method places Integers representing how many mines Cell has next to
-	 * it. NOTE! This method should be used after all mines have been placed in
-	 * the Cells.
+	 * Changes size of the cells in mine field. Classic field has fixed size of
+	 * the cells.
+	 * 
+	 * @param level
+	 *            - index of the cell size
 	 */
-	private void markMineNeighbours() {
-		// Iterating through every row in the mine field
-		for (int fieldRow = 0; fieldRow < rows; fieldRow++) {
-			// Iterating through every column in the mine field
-			for (int fieldColumn = 0; fieldColumn < columns; fieldColumn++) {
-				// Checking if current Cell has mine
-				if (!cells[fieldRow][fieldColumn].hasMine()) {
-					int counter = 0;
-
-					for (int checkedRow = fieldRow - 1; checkedRow <= fieldRow + 1; checkedRow++) {
-						for (int checkedColumn = fieldColumn - 1; checkedColumn <= fieldColumn + 1; checkedColumn++) {
-							if (this.isCellPositionValid(checkedRow,
-									checkedColumn)) {
-								if (cells[checkedRow][checkedColumn].hasMine())
-									counter++;
-							}
-						}
-					}
-					// Marking the Cell
-					if (counter > 0) {
-						// Filling the Cell
-						cells[fieldRow][fieldColumn].fill(new JLabel(Integer
-								.toString(counter)));
-					}
-				}
-			}
+	private void setZoom(int level) {
+		if (level < 0 || level >= ZOOM_CELL_SIZES.length || level == zoom)
+			return;
+
+		zoom = level;
+		if (mineField != null) {
+			mineField.setCellSize(ZOOM_CELL_SIZES[zoom], ZOOM_CELL_SIZES[zoom]);
+			if (!isResizable())
+				pack();
 		}
 	}
 
 	/**
-	 * This method returns Color for specified integer.
+	 * Handles mouse click on the cell at specified position: left button
+	 * opens the cell, right button flags it and middle button opens cells
+	 * around numbered cell. Changes are made in the board model and field is
+	 * repainted afterwards.
 	 * 
-	 * @param number
-	 * @return Color
+	 * @param row
+	 * @param column
+	 * @param e
 	 */
-	private Color getColor(int number) {
-		switch (number) {
-		case 1:
-			return COLOR_NUMBER_1;
-		case 2:
-			return COLOR_NUMBER_2;
-		case 3:
-			return COLOR_NUMBER_3;
-		case 4:
-			return COLOR_NUMBER_4;
-		case 5:
-			return COLOR_NUMBER_5;
-		case 6:
-			return COLOR_NUMBER_6;
-		case 7:
-			return COLOR_NUMBER_7;
-		case 8:
-			return COLOR_NUMBER_8;
-		default:
-			return Color.GRAY;
+	@Override
+	public void cellReleased(int row, int column, MouseEvent e) {
+		if (controlRequestsListener == null)
+			return;
+
+		if (controlRequestsListener.isGameRunning()
+				&& !controlRequestsListener.isTimerPaused()) {
+			long input = System.nanoTime();
+			controlRequestsListener.startTimer();
+
+			boolean changed = false;
+			if (SwingUtilities.isLeftMouseButton(e)) {
+				// Opening Cell
+				replayRecorder.record(row, column, ReplayRecorder.OPEN);
+				changed = refreshOpened(open(row, column, false));
+			} else if (SwingUtilities.isRightMouseButton(e)) {
+				// Flagging Cell
+				replayRecorder.record(row, column, ReplayRecorder.FLAG);
+				if (board.flag(row, column)) {
+					if (mineField != null) {
+						mineField.repaintCell(row, column);
+					} else {
+						cells[row][column].refresh();
+					}
+					lblMines.setText(Integer.toString(board.getLeftMines()));
+					changed = true;
+				}
+			} else if (SwingUtilities.isMiddleMouseButton(e)) {
+				// Opening Cells around numbered Cell
+				replayRecorder.record(row, column, ReplayRecorder.CHORD);
+				changed = refreshOpened(open(row, column, true));
+			}
+
+			GameEvents.WinCheck check = new GameEvents.WinCheck();
+			check.begin();
+			boolean lost = changed && board.isLost();
+			boolean won = changed && !lost && board.isWon();
+			check.commit(lost, won, board.getCoveredSafeCells());
+			latencyMonitor.updated(input);
+
+			if (lost) {
+				gameOver();
+			} else if (won) {
+				// Game is won
+				win();
+			}
 		}
 	}
 
 	/**
-	 * This method opens all Cells around current empty Cell. This method is
-	 * recursive, so that if opened Cell is empty than this method calls itself
-	 * to open all Cells around current empty Cell again.
+	 * Opens the cell, or cells around numbered cell, on the board.
 	 * 
 	 * @param row
 	 * @param column
+	 * @param chord
+	 *            - TRUE to open cells around numbered cell
+	 * @return int - number of opened cells
 	 */
-	private void findEmptyCells(int row, int column) {
-		for (int r = row - 1; r <= row + 1; r++) {
-			for (int c = column - 1; c <= column + 1; c++) {
-				if (this.isCellPositionValid(r, c)) {
-					if (!cells[r][c].hasMine() && !cells[r][c].isOpened()
-							&& !cells[r][c].isFlagged()) {
-						cells[r][c].open();
-						if (cells[r][c].isEmpty()) {
-							findEmptyCells(r, c);
-						}
-					}
-				}
-			}
+	private int open(int row, int column, boolean chord) {
+		GameEvents.FloodFill event = new GameEvents.FloodFill();
+		event.begin();
+		int opened = chord ? board.chord(row, column) : board.open(row,
+				column);
+		event.commit(row, column, chord, opened);
+		return opened;
+	}
+
+	/**
+	 * Updates Cells opened by the last request to the board model in one pass.
+	 * 
+	 * @param count
+	 *            - number of opened cells
+	 * @return boolean - TRUE if any Cell has been opened
+	 */
+	private boolean refreshOpened(int count) {
+		int[] opened = board.getOpenedCells();
+		if (mineField != null) {
+			mineField.repaintCells(opened, count);
+			return count > 0;
+		}
+
+		for (int i = 0; i < count; i++) {
+			cells[opened[i] / columns][opened[i] % columns].refresh();
 		}
+		return count > 0;
 	}
 
 	@Override
@@ -559,6 +848,52 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		} else if (command.equals(Difficulty.ADVANCED.getName())) {
 			difficulty = Difficulty.ADVANCED;
 			resetDifficulty();
+		} else if (command.equals(Difficulty.CUSTOM.getName())) {
+			CustomBoardDialog dialog = new CustomBoardDialog(this, rows,
+					columns, mines);
+			if (dialog.isOkPressed()) {
+				difficulty = Difficulty.CUSTOM;
+				resetDifficulty(dialog.getRows(), dialog.getColumns(),
+						dialog.getMines());
+			}
+		} else if (command.equals("Zoom In")) {
+			setZoom(zoom + 1);
+		} else if (command.equals("Zoom Out")) {
+			setZoom(zoom - 1);
+		} else if (command.equals("Actual Size")) {
+			setZoom(DEFAULT_ZOOM);
+		} else if (command.equals("Classic Mine Field")) {
+			classicField = ((JCheckBoxMenuItem) e.getSource()).isSelected();
+			if (controlRequestsListener == null)
+				return;
+
+			controlRequestsListener.stopGame();
+			controlRequestsListener.stopTimer();
+
+			newGame();
+		} else if (command.equals("Tenths of a Second")) {
+			if (controlRequestsListener == null)
+				return;
+
+			controlRequestsListener.setTimerTenths(((JCheckBoxMenuItem) e
+					.getSource()).isSelected());
+		} else if (command.equals("Latency Overlay")) {
+			setLatencyOverlay(((JCheckBoxMenuItem) e.getSource()).isSelected());
+		} else if (command.equals("No-guess Boards")) {
+			noGuess = ((JCheckBoxMenuItem) e.getSource()).isSelected();
+			if (controlRequestsListener == null)
+				return;
+
+			controlRequestsListener.stopGame();
+			controlRequestsListener.stopTimer();
+
+			newGame();
+		} else if (command.equals("Pause")) {
+			setPaused(mntmPause.isSelected());
+		} else if (command.equals("Board ID")) {
+			displayBoardIdDialog();
+		} else if (command.equals("Replay")) {
+			displayReplayDialog();
 		} else if (command.equals("Records")) {
 			if (controlRequestsListener == null)
 				return;
@@ -575,6 +910,122 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		}
 	}
 
+	/**
+	 * Displays ID of current board and starts new game on the board with ID
+	 * typed by user.
+	 */
+	private void displayBoardIdDialog() {
+		String current = "";
+		String message = "Mines are placed on the first click."
+				+ "\nType ID of the board to play:";
+		if (board.isMinesPlaced()) {
+			current = BoardId.of(board).toString();
+			message = "ID of this board, type another ID to play it:";
+		}
+
+		Object input = JOptionPane.showInputDialog(JMinesweeperUI.this,
+				message, "Board ID", JOptionPane.PLAIN_MESSAGE, null, null,
+				current);
+		if (input == null || input.toString().trim().isEmpty()
+				|| controlRequestsListener == null)
+			return;
+
+		BoardId id;
+		try {
+			id = BoardId.parse(input.toString());
+			if (id.getRows() > CustomBoardDialog.MAX_ROWS
+					|| id.getColumns() > CustomBoardDialog.MAX_COLUMNS)
+				throw new IllegalArgumentException("Board is too big: "
+						+ id.getRows() + "x" + id.getColumns());
+		} catch (IllegalArgumentException e) {
+			JOptionPane.showMessageDialog(JMinesweeperUI.this, e.getMessage(),
+					"Board ID", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+
+		controlRequestsListener.stopGame();
+		controlRequestsListener.stopTimer();
+
+		difficulty = id.getDifficulty();
+		resetDifficulty(id.getRows(), id.getColumns(), id.getMines(),
+				id.newBoard());
+	}
+
+	/**
+	 * Lets user choose recorded game and plays it back on the mine field.
+	 * Game in progress is stopped and cells can not be clicked until new game
+	 * is started.
+	 */
+	private void displayReplayDialog() {
+		if (controlRequestsListener == null)
+			return;
+
+		JFileChooser chooser = new JFileChooser(replayRecorder.getDirectory());
+		chooser.setFileFilter(new FileNameExtensionFilter("Replays",
+				ReplayRecorder.extension.substring(1)));
+		if (chooser.showOpenDialog(JMinesweeperUI.this) != JFileChooser.APPROVE_OPTION)
+			return;
+
+		ReplayPlayer player;
+		try {
+			player = new ReplayPlayer(chooser.getSelectedFile());
+		} catch (IOException e) {
+			JOptionPane.showMessageDialog(JMinesweeperUI.this, e.getMessage(),
+					"Replay", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+
+		// Board only renders the replay, no game is started on it
+		controlRequestsListener.stopGame();
+		controlRequestsListener.stopTimer();
+		controlRequestsListener.resetTimer();
+		replayRecorder.finish();
+		if (replayView != null)
+			replayView.dispose();
+
+		Board replayBoard = player.getBoard();
+		difficulty = Difficulty.of(replayBoard.getRows(),
+				replayBoard.getColumns(), replayBoard.getMines());
+		setBoardSize(replayBoard.getRows(), replayBoard.getColumns(),
+				replayBoard.getMines());
+		boolean rebuilt = setBoard(replayBoard);
+		replayBoardChanged(replayBoard);
+		if (rebuilt)
+			pack();
+
+		replayView = new ReplayView(JMinesweeperUI.this, player, this);
+		replayView.setVisible(true);
+	}
+
+	@Override
+	public void replayBoardChanged(Board newBoard) {
+		board = newBoard;
+		lblMines.setText(Integer.toString(board.getLeftMines()));
+		if (mineField != null) {
+			mineField.setBoard(board);
+			return;
+		}
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				cells[row][column].reset();
+				cells[row][column].refresh();
+			}
+		}
+	}
+
+	@Override
+	public void replayMoved(int row, int column, int action, int opened) {
+		if (action != ReplayRecorder.FLAG) {
+			refreshOpened(opened);
+		} else if (mineField != null) {
+			mineField.repaintCell(row, column);
+		} else {
+			cells[row][column].refresh();
+		}
+		lblMines.setText(Integer.toString(board.getLeftMines()));
+	}
+
 	/**
 	 * Displays Message Dialog box containing the name of the author of this
 	 * MineSweeper game.
@@ -606,6 +1057,8 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		sb.append("\n    might be located.");
 		sb.append("\n *  You can mark a square as a mine by right clicking on it. A number at the bottom of");
 		sb.append("\n    the frame keeps track of how many mines you have left to find.");
+		sb.append("\n *  Middle click on an uncovered number opens all squares around it if the same number");
+		sb.append("\n    of flags has been placed around it.");
 
 		final String text = sb.toString();
 		// Displaying Message Dialog
@@ -621,9 +1074,9 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 	 * "right clicking" again on the same Cell. When the Cell is opened than
 	 * CELL_CONTENT JPanel is displayed. CELL_CONTENT can be empty, indicating
 	 * that 0 mines are located around it; can have a number, indicating how
-	 * many mines are located around the Cell; and can have a mine in it. Cell
-	 * implements MouseListener interface for displaying appropriate JPanel and
-	 * requesting to open surrounding Cells in case if this Cell is empty.
+	 * many mines are located around the Cell; and can have a mine in it. The
+	 * state of the Cell is kept in the <code>Board</code> model, Cell only
+	 * renders it and passes mouse events to the game.
 	 * 
 	 * <p>
 	 * Date created: 2014.01.18
@@ -640,12 +1093,11 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		private ContentPanel content;
 		private CoverPanel cover;
 		private JLabel lblContent;
-		private boolean open;
 		private int row, column;
 
 		/**
-		 * Constructor. Row and Column parameters are required to make a search
-		 * for empty Cells around opened empty Cell.
+		 * Constructor. Row and Column parameters are required to find state
+		 * of the Cell in the board model.
 		 */
 		public Cell(int row, int column) {
 			setBounds(0, 0, CELL_WIDTH, CELL_HEIGHT);
@@ -653,8 +1105,6 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 			setLayout(cardLayout);
 			setBorder(new LineBorder(BORDER_COLOR));
 
-			open = false;
-
 			this.row = row;
 			this.column = column;
 
@@ -677,112 +1127,29 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		}
 
 		/**
-		 * Check if Cell has been flagged.
-		 * 
-		 * @return boolean
-		 */
-		public boolean isFlagged() {
-			return cover.flagged;
-		}
-
-		/**
-		 * Check if Cell has been opened.
-		 * 
-		 * @return boolean
-		 */
-		public boolean isOpened() {
-			return open;
-		}
-
-		/**
-		 * Check if Cell is empty.
-		 * 
-		 * @return boolean
+		 * Covers this Cell for new game.
 		 */
-		public boolean isEmpty() {
-			return content.empty;
+		public void reset() {
+			lblContent.setText("");
+			cardLayout.show(Cell.this, CELL_COVER);
+			cover.repaint();
 		}
 
 		/**
-		 * If Cell is not opened, than it is flagged.
+		 * Displays appropriate JPanel for the state of this Cell in the board
+		 * model.
 		 */
-		public void flag() {
-			if (!open) {
-				if (cover.flagged) {
-					cover.flagged = false;
-					leftMines++;
-					lblMines.setText(Integer.toString(leftMines));
-					cover.repaint();
-				} else {
-					cover.flagged = true;
-					leftMines--;
-					lblMines.setText(Integer.toString(leftMines));
-					cover.repaint();
+		public void refresh() {
+			if (board.isOpened(row, column)) {
+				int adjacent = board.getAdjacentMines(row, column);
+				if (adjacent > 0 && !board.hasMine(row, column)) {
+					lblContent.setForeground(MineField.getColor(adjacent));
+					lblContent.setText(Integer.toString(adjacent));
 				}
-			}
-		}
-
-		/**
-		 * If Cell is empty and not flagged, than mine is placed in the Cell.
-		 */
-		public boolean placeMine() {
-			if (!content.empty || cover.flagged)
-				return false;
-
-			content.empty = false;
-			content.mine = true;
-			lblMines.setText(Integer.toString(leftMines));
-			return true;
-		}
-
-		/**
-		 * If this Cell is not flagged, than it is opened.
-		 * 
-		 * @return boolean
-		 */
-		public boolean open() {
-			if (!cover.flagged) {
-				open = true;
-
 				cardLayout.show(Cell.this, CELL_CONTENT);
-				return true;
-			}
-			return false;
-		}
-
-		/**
-		 * This method is adding Component to the Cell. This component is JLabel
-		 * representing the number from 1 to 8. The numbers are indicating how
-		 * many mines are located around this Cell. TRUE is returned if
-		 * Component has been successfully added to the Cell, otherwise FALSE is
-		 * returned.
-		 * 
-		 * @param component
-		 * @return boolean
-		 */
-		public boolean fill(Component component) {
-			if (!content.empty)
-				return false;
-
-			final String text = ((JLabel) component).getText();
-
-			content.empty = false;
-
-			if (!content.mine) {
-				lblContent.setForeground(getColor(Integer.parseInt(text)));
-				lblContent.setText(text);
+			} else {
+				cover.repaint();
 			}
-
-			return true;
-		}
-
-		/**
-		 * This method returns TRUE if Cell is not empty and has mine in it.
-		 * 
-		 * @return boolean
-		 */
-		public boolean hasMine() {
-			return (!content.empty) ? content.mine : false;
 		}
 
 		@Override
@@ -810,34 +1177,7 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 
 		@Override
 		public void mouseReleased(MouseEvent e) {
-			if (controlRequestsListener == null)
-				return;
-
-			if (controlRequestsListener.isGameRunning()) {
-				controlRequestsListener.startTimer();
-
-				if (SwingUtilities.isLeftMouseButton(e)) {
-					// Opening Cell
-					if (open()) {
-						if (content.empty) {
-							findEmptyCells(row, column);
-						} else if (content.mine) {
-							gameOver();
-						}
-
-						// Checking if game is won
-						if (checkWin())
-							win();
-					}
-				} else if (SwingUtilities.isRightMouseButton(e)) {
-					// Flagging Cell
-					flag();
-
-					// Checking if game is won
-					if (checkWin())
-						win();
-				}
-			}
+			cellReleased(row, column, e);
 		}
 
 		@Override
@@ -860,41 +1200,13 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		 */
 		private class ContentPanel extends JPanel {
 			private static final long serialVersionUID = -949764874625808490L;
-			private boolean mine, empty;
-
-			/**
-			 * Default Constructor.
-			 */
-			public ContentPanel() {
-				empty = true;
-				mine = false;
-			}
 
 			@Override
 			public void paintComponent(Graphics g) {
 				super.paintComponent(g);
 
-				if (mine) {
-					// Drawing oval
-					int x = (int) (CELL_WIDTH * 0.3);
-					int y = (int) (CELL_HEIGHT * 0.3);
-					int width = (int) (CELL_WIDTH * 0.4);
-					int height = (int) (CELL_HEIGHT * 0.4);
-
-					g.setColor(Color.BLACK);
-					g.fillOval(x, y, width, height);
-					g.setColor(Color.BLACK);
-					g.drawOval(x, y, width, height);
-
-					// Drawing main lines
-					g.drawLine((int) (CELL_WIDTH * 0.125),
-							(int) (CELL_HEIGHT * 0.5),
-							(int) (CELL_WIDTH * 0.875),
-							(int) (CELL_HEIGHT * 0.5));
-					g.drawLine((int) (CELL_WIDTH * 0.5),
-							(int) (CELL_HEIGHT * 0.125),
-							(int) (CELL_WIDTH * 0.5),
-							(int) (CELL_HEIGHT * 0.875));
+				if (board.hasMine(row, column)) {
+					MineField.paintMine(g, 0, 0, CELL_WIDTH, CELL_HEIGHT);
 				}
 			}
 		}
@@ -911,44 +1223,75 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 		 */
 		private class CoverPanel extends JPanel {
 			private static final long serialVersionUID = 1543993770632213656L;
-			private boolean flagged;
-
-			/**
-			 * Default Constructor.
-			 */
-			public CoverPanel() {
-				flagged = false;
-			}
 
 			@Override
 			public void paintComponent(Graphics g) {
 				super.paintComponent(g);
 
-				if (flagged) {
-					int x = (int) (CELL_WIDTH * 0.25);
-					int y = (int) (CELL_HEIGHT * 0.1);
-					int width = 3;
-					int height = (int) (CELL_HEIGHT * 0.75);
-
-					g.setColor(Color.BLACK);
-					g.fillRect(x, y, width, height);
-					g.setColor(Color.BLACK);
-					g.drawRect(x, y, width, height);
-
-					Polygon p = new Polygon();
-					p.addPoint(x + width, y);
-					p.addPoint(x + width + (height / 2), y + (height / 4));
-					p.addPoint(x + width, y + (height / 2));
-
-					g.setColor(Color.RED);
-					g.fillPolygon(p);
-					g.setColor(Color.BLACK);
-					g.drawPolygon(p);
+				if (board.isFlagged(row, column)) {
+					MineField.paintFlag(g, 0, 0, CELL_WIDTH, CELL_HEIGHT);
 				}
 			}
 		}
 	}
 
+	/**
+	 * TimerLabel class extends JLabel and keeps its size wide enough for any
+	 * time of the same format, so that changing time only repaints the label.
+	 * Layout is validated when format of the time changes.
+	 */
+	private static class TimerLabel extends JLabel {
+		private static final long serialVersionUID = -6137466026829735127L;
+		// Text is changed to the same format, layout is not needed
+		private boolean sameFormat;
+
+		public TimerLabel(String text) {
+			super(text);
+		}
+
+		/**
+		 * Displays specified time.
+		 * 
+		 * @param time
+		 */
+		public void setTime(String time) {
+			sameFormat = time.length() == getText().length();
+			setText(time);
+			sameFormat = false;
+		}
+
+		@Override
+		public void revalidate() {
+			if (!sameFormat)
+				super.revalidate();
+		}
+
+		@Override
+		public Dimension getPreferredSize() {
+			Dimension size = super.getPreferredSize();
+			if (isPreferredSizeSet())
+				return size;
+
+			// Every digit may take the width of the widest one
+			FontMetrics metrics = getFontMetrics(getFont());
+			int digitWidth = 0;
+			for (char digit = '0'; digit <= '9'; digit++) {
+				digitWidth = Math.max(digitWidth, metrics.charWidth(digit));
+			}
+			String text = getText();
+			int width = 0;
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				width += Character.isDigit(c) ? digitWidth : metrics
+						.charWidth(c);
+			}
+			Insets insets = getInsets();
+			size.width = Math.max(size.width, width + insets.left
+					+ insets.right);
+			return size;
+		}
+	}
+
 	/**
 	 * RoundButton class extends JButton and makes button round with some custom
 	 * drawings.
@@ -1040,19 +1383,85 @@ public class JMinesweeperUI extends JFrame implements ActionListener {
 	}
 
 	/**
-	 * Updates time on label.
+	 * Shows or hides overlay with latency of clicks over the window.
+	 * 
+	 * @param visible
+	 */
+	private void setLatencyOverlay(boolean visible) {
+		if (latencyOverlay == null) {
+			latencyOverlay = new LatencyOverlay(latencyMonitor);
+			latencyMonitor.setChangeListener(new ChangeListener() {
+				@Override
+				public void stateChanged(ChangeEvent e) {
+					if (latencyOverlay.isVisible())
+						latencyOverlay.update();
+				}
+			});
+			setGlassPane(latencyOverlay);
+		}
+		latencyOverlay.update();
+		latencyOverlay.setVisible(visible);
+	}
+
+	/**
+	 * Returns monitor of click latency.
+	 * 
+	 * @return LatencyMonitor
+	 */
+	public LatencyMonitor getLatencyMonitor() {
+		return latencyMonitor;
+	}
+
+	/**
+	 * Returns pool of ready boards.
+	 * 
+	 * @return BoardPool
+	 */
+	public BoardPool getBoardPool() {
+		return boardPool;
+	}
+
+	/**
+	 * Returns number of Swing components in the mine field, including the
+	 * field. Should be called on the event thread.
 	 * 
-	 * @param minutes
-	 * @param seconds
+	 * @return int
+	 */
+	public int getFieldComponents() {
+		return (field == null) ? 0 : countComponents(field);
+	}
+
+	private static int countComponents(Component component) {
+		int count = 1;
+		if (component instanceof Container) {
+			for (Component child : ((Container) component).getComponents()) {
+				count += countComponents(child);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Writes latency of clicks measured since start to the file.
 	 */
-	public void updateTime(int minutes, int seconds) {
+	public void exportLatencies() {
 		try {
-			lblTimer.setText(nformat.valueToString(minutes) + ":"
-					+ nformat.valueToString(seconds));
-		} catch (ParseException e) {
+			latencyMonitor.export();
+		} catch (IOException e) {
+			System.out.println("***Error saving latency***");
 		}
 	}
 
+	/**
+	 * Updates time on label.
+	 * 
+	 * @param time
+	 *            - displayed text of the time
+	 */
+	public void updateTime(String time) {
+		lblTimer.setTime(time);
+	}
+
 	/**
 	 * Displays dialog to user for his name input.
 	 * 
@@ -0,0 +1,151 @@
+package vkurman.jminesweeper;
+
+import java.util.Arrays;
+
+/**
+ * <code>LatencyHistogram</code> counts measured times in buckets which grow
+ * with the time, so that any time from a nanosecond to hours is kept in a
+ * fixed array and recording is a few operations without allocation.
+ *
+ * <p>
+ * Times below 64 nanoseconds have a bucket each. Every longer power of two is
+ * split into 32 buckets, so percentiles are known within about 3%. Maximum,
+ * sum and count are exact.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+	// Bits of a bucket within a power of two
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = SUB_BUCKETS * (64 - SUB_BUCKET_BITS);
+
+	private final String name;
+	private final long[] counts = new long[BUCKETS];
+	private long count;
+	private long sum;
+	private long max;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param name
+	 *            - name of the measure
+	 */
+	public LatencyHistogram(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns name of the measure.
+	 *
+	 * @return String
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Records measured time, negative time is counted as 0.
+	 *
+	 * @param nanos
+	 */
+	public synchronized void record(long nanos) {
+		if (nanos < 0)
+			nanos = 0;
+
+		counts[getBucket(nanos)]++;
+		count++;
+		sum += nanos;
+		if (nanos > max)
+			max = nanos;
+	}
+
+	/**
+	 * Removes all recorded times.
+	 */
+	public synchronized void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		sum = 0;
+		max = 0;
+	}
+
+	/**
+	 * Returns number of recorded times.
+	 *
+	 * @return long
+	 */
+	public synchronized long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns mean of recorded times, 0 if nothing is recorded.
+	 *
+	 * @return long - nanoseconds
+	 */
+	public synchronized long getMean() {
+		return (count == 0) ? 0 : sum / count;
+	}
+
+	/**
+	 * Returns the longest recorded time.
+	 *
+	 * @return long - nanoseconds
+	 */
+	public synchronized long getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns time which specified percent of recorded times do not exceed,
+	 * 0 if nothing is recorded. Time is the top of its bucket, but never more
+	 * than the maximum.
+	 *
+	 * @param percent
+	 *            - from 0 to 100
+	 * @return long - nanoseconds
+	 */
+	public synchronized long getPercentile(double percent) {
+		if (count == 0)
+			return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(count * percent / 100));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += counts[bucket];
+			if (seen >= rank)
+				return Math.min(getBucketTop(bucket), max);
+		}
+		return max;
+	}
+
+	/**
+	 * Returns bucket of specified time.
+	 */
+	static int getBucket(long nanos) {
+		if (nanos < SUB_BUCKETS * 2)
+			return (int) nanos;
+
+		int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+		return SUB_BUCKETS * shift + (int) (nanos >>> shift);
+	}
+
+	/**
+	 * Returns the longest time counted in specified bucket.
+	 */
+	static long getBucketTop(int bucket) {
+		if (bucket < SUB_BUCKETS * 2)
+			return bucket;
+
+		int shift = bucket / SUB_BUCKETS - 1;
+		long sub = bucket - SUB_BUCKETS * shift;
+		return ((sub + 1) << shift) - 1;
+	}
+}
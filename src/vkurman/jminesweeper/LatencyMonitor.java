@@ -0,0 +1,170 @@
+package vkurman.jminesweeper;
+
+import java.awt.EventQueue;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+/**
+ * <code>LatencyMonitor</code> measures how long it takes from release of the
+ * mouse on a cell to the changed cells appearing on the screen. Time is split
+ * into update of the board model, which includes flood fill and win check,
+ * and repaint of the changed cells.
+ *
+ * <p>
+ * Repaint requested by the model update is done by the event thread after
+ * the mouse event, so the end of repaint is taken by a task queued on the
+ * event thread after the update. Times are kept in
+ * <code>LatencyHistogram</code>s and can be written to <code>latency.txt</code>
+ * when the application exits.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class LatencyMonitor {
+
+	private static final long NANOS_PER_MICRO = 1000L;
+
+	private final File file;
+	private final LatencyHistogram model = new LatencyHistogram("Model");
+	private final LatencyHistogram repaint = new LatencyHistogram("Repaint");
+	private final LatencyHistogram total = new LatencyHistogram(
+			"Input to paint");
+	private ChangeListener changeListener;
+
+	// Times of the input waiting for repaint, used on the event thread only
+	private long input;
+	private long updated;
+	private boolean pending;
+	private final Runnable painted = new Runnable() {
+		@Override
+		public void run() {
+			pending = false;
+			long now = System.nanoTime();
+			repaint.record(now - updated);
+			total.record(now - input);
+			if (changeListener != null)
+				changeListener.stateChanged(new ChangeEvent(
+						LatencyMonitor.this));
+		}
+	};
+
+	/**
+	 * Constructor for times written to <code>latency.txt</code> in the working
+	 * directory.
+	 */
+	public LatencyMonitor() {
+		this(new File("latency.txt"));
+	}
+
+	/**
+	 * Constructor for times written to specified file.
+	 *
+	 * @param file
+	 */
+	public LatencyMonitor(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Returns file times are written to.
+	 *
+	 * @return File
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Records update of the model done for the input received at specified
+	 * time, and starts waiting for the repaint. Called on the event thread
+	 * after the model is updated.
+	 *
+	 * @param input
+	 *            - <code>System.nanoTime</code> when input was received
+	 */
+	public void updated(long input) {
+		long now = System.nanoTime();
+		model.record(now - input);
+
+		this.input = input;
+		updated = now;
+		if (!pending) {
+			pending = true;
+			EventQueue.invokeLater(painted);
+		}
+	}
+
+	/**
+	 * Returns times of the model update.
+	 *
+	 * @return LatencyHistogram
+	 */
+	public LatencyHistogram getModel() {
+		return model;
+	}
+
+	/**
+	 * Returns times of the repaint.
+	 *
+	 * @return LatencyHistogram
+	 */
+	public LatencyHistogram getRepaint() {
+		return repaint;
+	}
+
+	/**
+	 * Returns times from input to the end of repaint.
+	 *
+	 * @return LatencyHistogram
+	 */
+	public LatencyHistogram getTotal() {
+		return total;
+	}
+
+	/**
+	 * Sets listener notified on the event thread when times of an input are
+	 * recorded.
+	 *
+	 * @param listener
+	 */
+	public void setChangeListener(ChangeListener listener) {
+		changeListener = listener;
+	}
+
+	/**
+	 * Writes count, mean, p50, p99 and maximum of every measure to the file,
+	 * in microseconds. Nothing is written if no input has been measured.
+	 *
+	 * @throws IOException
+	 */
+	public void export() throws IOException {
+		if (model.getCount() == 0)
+			return;
+
+		PrintWriter out = new PrintWriter(new FileWriter(file));
+		try {
+			out.println("# Latency of clicks, microseconds");
+			out.println("Measure\tCount\tMean\tp50\tp99\tMax");
+			for (LatencyHistogram histogram : new LatencyHistogram[] { model,
+					repaint, total }) {
+				out.println(histogram.getName() + "\t" + histogram.getCount()
+						+ "\t" + histogram.getMean() / NANOS_PER_MICRO + "\t"
+						+ histogram.getPercentile(50) / NANOS_PER_MICRO + "\t"
+						+ histogram.getPercentile(99) / NANOS_PER_MICRO + "\t"
+						+ histogram.getMax() / NANOS_PER_MICRO);
+			}
+		} finally {
+			out.close();
+		}
+		if (out.checkError())
+			throw new IOException("Can not write " + file.getPath());
+	}
+}
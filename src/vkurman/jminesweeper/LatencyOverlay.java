@@ -0,0 +1,91 @@
+package vkurman.jminesweeper;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+import javax.swing.JComponent;
+
+/**
+ * <code>LatencyOverlay</code> is a glass pane which shows p50, p99 and maximum
+ * times of <code>LatencyMonitor</code> in the top left corner of the window.
+ * Overlay has no mouse listeners, so clicks go through it to the mine field.
+ * Only the box of the overlay is repainted when times change.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class LatencyOverlay extends JComponent {
+
+	private static final long serialVersionUID = 2684014310530742937L;
+
+	private static final Font OVERLAY_FONT = new Font(Font.MONOSPACED,
+			Font.PLAIN, 11);
+	private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 160);
+	private static final int MARGIN = 4;
+	private static final double NANOS_PER_MILLI = 1000000.0;
+
+	private final LatencyMonitor monitor;
+	private final String[] lines = new String[4];
+	private final Rectangle box = new Rectangle();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param monitor
+	 */
+	public LatencyOverlay(LatencyMonitor monitor) {
+		this.monitor = monitor;
+		setOpaque(false);
+		setFont(OVERLAY_FONT);
+		update();
+	}
+
+	/**
+	 * Takes the latest times from the monitor and repaints the box.
+	 */
+	public void update() {
+		lines[0] = String.format("%-14s %7s %7s %7s", "ms", "p50", "p99",
+				"max");
+		lines[1] = format(monitor.getModel());
+		lines[2] = format(monitor.getRepaint());
+		lines[3] = format(monitor.getTotal());
+
+		FontMetrics metrics = getFontMetrics(getFont());
+		repaint(box);
+		box.setBounds(0, 0, metrics.stringWidth(lines[0]) + MARGIN * 2,
+				metrics.getHeight() * lines.length + MARGIN * 2);
+		repaint(box);
+	}
+
+	private static String format(LatencyHistogram histogram) {
+		return String.format("%-14s %7.2f %7.2f %7.2f", histogram.getName(),
+				histogram.getPercentile(50) / NANOS_PER_MILLI,
+				histogram.getPercentile(99) / NANOS_PER_MILLI,
+				histogram.getMax() / NANOS_PER_MILLI);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		if (clip != null && !clip.intersects(box))
+			return;
+
+		g.setColor(OVERLAY_BACKGROUND);
+		g.fillRect(box.x, box.y, box.width, box.height);
+
+		g.setColor(Color.WHITE);
+		g.setFont(getFont());
+		FontMetrics metrics = g.getFontMetrics();
+		int y = MARGIN + metrics.getAscent();
+		for (String line : lines) {
+			g.drawString(line, MARGIN, y);
+			y += metrics.getHeight();
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package vkurman.jminesweeper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <code>Leaderboard</code> keeps every finished game of one difficulty level
+ * sorted by time. Games with the same time keep the order in which they have
+ * been added. Adding a game, finding the place of a time and getting the game
+ * at a place take O(log n).
+ *
+ * <p>
+ * Games are kept in a treap: binary search tree by time with random priority
+ * of every node kept in heap order, so that the tree stays balanced. Every
+ * node knows the size of its subtree, which gives place of the node. Nodes are
+ * stored in parallel arrays and refer to each other by index, so that a game
+ * takes about 30 bytes and names of the same player are shared.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class Leaderboard {
+
+	private static final int NONE = -1;
+
+	private int[] left = new int[16];
+	private int[] right = new int[16];
+	private int[] size = new int[16];
+	private int[] priority = new int[16];
+	private long[] times = new long[16];
+	private String[] names = new String[16];
+
+	private int root = NONE;
+	private int count;
+	// State of xorshift generator of priorities
+	private int seed = 0x2545F491;
+
+	private final Map<String, String> sharedNames = new HashMap<String, String>();
+
+	/**
+	 * Returns number of games.
+	 *
+	 * @return int
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Removes all games.
+	 */
+	public void clear() {
+		root = NONE;
+		count = 0;
+		Arrays.fill(names, null);
+		sharedNames.clear();
+	}
+
+	/**
+	 * Returns place, counted from 0, that a game with specified time would
+	 * take. Games with the same time are placed before it.
+	 *
+	 * @param time
+	 * @return int
+	 */
+	public int rank(long time) {
+		int place = 0;
+		int node = root;
+		while (node != NONE) {
+			if (time < times[node]) {
+				node = left[node];
+			} else {
+				place += size(left[node]) + 1;
+				node = right[node];
+			}
+		}
+		return place;
+	}
+
+	/**
+	 * Adds game and returns its place, counted from 0.
+	 *
+	 * @param record
+	 * @return int
+	 */
+	public int add(Record record) {
+		int node = newNode(record);
+
+		// Splitting tree into games up to this time and games after it
+		int[] parts = new int[2];
+		split(root, record.getTime(), parts);
+		int place = size(parts[0]);
+		root = merge(merge(parts[0], node), parts[1]);
+		return place;
+	}
+
+	/**
+	 * Returns game at specified place, counted from 0.
+	 *
+	 * @param place
+	 * @return Record
+	 */
+	public Record get(int place) {
+		int node = find(place);
+		return new Record(names[node], times[node]);
+	}
+
+	/**
+	 * Returns time of the game at specified place, counted from 0.
+	 *
+	 * @param place
+	 * @return long
+	 */
+	public long getTime(int place) {
+		return times[find(place)];
+	}
+
+	/**
+	 * Copies games starting from specified place into array and returns
+	 * number of copied games.
+	 *
+	 * @param fromPlace
+	 * @param records
+	 * @return int
+	 */
+	public int get(int fromPlace, Record[] records) {
+		int copied = Math.max(Math.min(records.length, count - fromPlace), 0);
+		for (int i = 0; i < copied; i++) {
+			records[i] = get(fromPlace + i);
+		}
+		return copied;
+	}
+
+	private int find(int place) {
+		if (place < 0 || place >= count)
+			throw new IndexOutOfBoundsException("Place: " + place + ", size: "
+					+ count);
+
+		int node = root;
+		while (true) {
+			int leftSize = size(left[node]);
+			if (place < leftSize) {
+				node = left[node];
+			} else if (place == leftSize) {
+				return node;
+			} else {
+				place -= leftSize + 1;
+				node = right[node];
+			}
+		}
+	}
+
+	private int newNode(Record record) {
+		if (count == times.length) {
+			int capacity = count * 2;
+			left = Arrays.copyOf(left, capacity);
+			right = Arrays.copyOf(right, capacity);
+			size = Arrays.copyOf(size, capacity);
+			priority = Arrays.copyOf(priority, capacity);
+			times = Arrays.copyOf(times, capacity);
+			names = Arrays.copyOf(names, capacity);
+		}
+
+		String name = sharedNames.get(record.getName());
+		if (name == null) {
+			name = record.getName();
+			sharedNames.put(name, name);
+		}
+
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+
+		int node = count++;
+		left[node] = NONE;
+		right[node] = NONE;
+		size[node] = 1;
+		priority[node] = seed;
+		times[node] = record.getTime();
+		names[node] = name;
+		return node;
+	}
+
+	private int size(int node) {
+		return (node == NONE) ? 0 : size[node];
+	}
+
+	private void update(int node) {
+		size[node] = size(left[node]) + size(right[node]) + 1;
+	}
+
+	/**
+	 * Splits tree into nodes with time up to specified one and nodes with
+	 * greater time, stored in <code>parts[0]</code> and <code>parts[1]</code>.
+	 */
+	private void split(int node, long time, int[] parts) {
+		if (node == NONE) {
+			parts[0] = NONE;
+			parts[1] = NONE;
+		} else if (times[node] <= time) {
+			split(right[node], time, parts);
+			right[node] = parts[0];
+			update(node);
+			parts[0] = node;
+		} else {
+			split(left[node], time, parts);
+			left[node] = parts[1];
+			update(node);
+			parts[1] = node;
+		}
+	}
+
+	/**
+	 * Merges two trees, all nodes of the first one go before nodes of the
+	 * second one.
+	 */
+	private int merge(int first, int second) {
+		if (first == NONE)
+			return second;
+		if (second == NONE)
+			return first;
+
+		if (priority[first] > priority[second]) {
+			right[first] = merge(right[first], second);
+			update(first);
+			return first;
+		}
+		left[second] = merge(first, left[second]);
+		update(second);
+		return second;
+	}
+}
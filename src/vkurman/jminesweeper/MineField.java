@@ -0,0 +1,463 @@
+package vkurman.jminesweeper;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.UIManager;
+
+/**
+ * <code>MineField</code> is a single component that paints the whole mine field
+ * from the <code>Board</code> model. It replaces the grid of <code>Cell</code>
+ * panels, so that the size of the board does not change the number of Swing
+ * components. Mouse coordinates are converted to the cell position and only
+ * the cells that have been changed are repainted.
+ * 
+ * <p>
+ * When placed in <code>JScrollPane</code> the field works as a viewport over
+ * the board: only cells inside the visible area are painted and the size of
+ * the viewport is limited, so big custom boards can be scrolled and zoomed.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class MineField extends JComponent implements Scrollable {
+
+	private static final long serialVersionUID = -3081540318046219572L;
+
+	static final Color BORDER_COLOR = Color.BLACK;
+	static final Color COVER_COLOR = new Color(192, 192, 192);
+	static final Color CONTENT_COLOR = new Color(224, 224, 224);
+
+	private static final Color COLOR_NUMBER_1 = Color.RED;
+	private static final Color COLOR_NUMBER_2 = Color.GREEN;
+	private static final Color COLOR_NUMBER_3 = Color.BLUE;
+	private static final Color COLOR_NUMBER_4 = Color.ORANGE;
+	private static final Color COLOR_NUMBER_5 = Color.MAGENTA;
+	private static final Color COLOR_NUMBER_6 = Color.CYAN;
+	private static final Color COLOR_NUMBER_7 = Color.YELLOW;
+	private static final Color COLOR_NUMBER_8 = Color.BLACK;
+
+	// Width of the border around the field
+	private static final int BORDER = 1;
+	// Cells smaller than this are painted as plain colored squares
+	private static final int MIN_DETAILED_CELL_SIZE = 12;
+	// Largest viewport size requested from JScrollPane
+	private static final int MAX_VIEWPORT_WIDTH = 1024;
+	private static final int MAX_VIEWPORT_HEIGHT = 720;
+
+	private final Font baseFont;
+	private final int baseCellHeight;
+
+	private Board board;
+	private int cellWidth;
+	private int cellHeight;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param board
+	 * @param cellWidth
+	 * @param cellHeight
+	 * @param listener
+	 */
+	public MineField(Board board, int cellWidth, int cellHeight,
+			final CellListener listener) {
+		this.board = board;
+		this.cellWidth = cellWidth;
+		this.cellHeight = cellHeight;
+
+		this.baseCellHeight = cellHeight;
+		this.baseFont = UIManager.getFont("Label.font");
+
+		setOpaque(true);
+		setFont(baseFont);
+
+		addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseReleased(MouseEvent e) {
+				int row = getRowAt(e.getY());
+				int column = getColumnAt(e.getX());
+
+				if (listener != null
+						&& MineField.this.board.isCellPositionValid(row, column)) {
+					listener.cellReleased(row, column, e);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Replaces board model rendered by this field. Size of the field is only
+	 * recalculated if new board has different dimensions.
+	 * 
+	 * @param board
+	 */
+	public void setBoard(Board board) {
+		boolean resized = board.getRows() != this.board.getRows()
+				|| board.getColumns() != this.board.getColumns();
+		this.board = board;
+		if (resized)
+			revalidate();
+		repaint();
+	}
+
+	/**
+	 * Changes size of the cells keeping the same cell in the center of the
+	 * viewport.
+	 * 
+	 * @param width
+	 * @param height
+	 */
+	public void setCellSize(int width, int height) {
+		if (width == cellWidth && height == cellHeight)
+			return;
+
+		JViewport viewport = (getParent() instanceof JViewport) ? (JViewport) getParent()
+				: null;
+		double centerX = 0, centerY = 0;
+		if (viewport != null) {
+			Rectangle view = viewport.getViewRect();
+			centerX = (view.getCenterX() - BORDER) / cellWidth;
+			centerY = (view.getCenterY() - BORDER) / cellHeight;
+		}
+
+		cellWidth = width;
+		cellHeight = height;
+		if (baseFont != null)
+			setFont(baseFont.deriveFont(baseFont.getSize2D() * height
+					/ baseCellHeight));
+
+		revalidate();
+		repaint();
+
+		if (viewport != null) {
+			Dimension extent = viewport.getExtentSize();
+			Dimension size = getPreferredSize();
+			int x = (int) (centerX * cellWidth) + BORDER - extent.width / 2;
+			int y = (int) (centerY * cellHeight) + BORDER - extent.height / 2;
+			x = Math.max(0, Math.min(x, size.width - extent.width));
+			y = Math.max(0, Math.min(y, size.height - extent.height));
+			setSize(size);
+			viewport.setViewPosition(new Point(x, y));
+		}
+	}
+
+	public int getCellWidth() {
+		return cellWidth;
+	}
+
+	public int getCellHeight() {
+		return cellHeight;
+	}
+
+	/**
+	 * Returns row of the cell at specified y coordinate. Value can be outside
+	 * the board if coordinate is outside the field.
+	 *
+	 * @param y
+	 * @return int
+	 */
+	public int getRowAt(int y) {
+		return Math.floorDiv(y - BORDER, cellHeight);
+	}
+
+	/**
+	 * Returns column of the cell at specified x coordinate. Value can be
+	 * outside the board if coordinate is outside the field.
+	 *
+	 * @param x
+	 * @return int
+	 */
+	public int getColumnAt(int x) {
+		return Math.floorDiv(x - BORDER, cellWidth);
+	}
+
+	/**
+	 * Repaints single cell.
+	 *
+	 * @param row
+	 * @param column
+	 */
+	public void repaintCell(int row, int column) {
+		repaint(BORDER + column * cellWidth, BORDER + row * cellHeight,
+				cellWidth, cellHeight);
+	}
+
+	/**
+	 * Repaints specified cells in one request. Cells are indexes
+	 * <code>row * columns + column</code>.
+	 *
+	 * @param cells
+	 * @param count
+	 *            - number of valid elements in array
+	 */
+	public void repaintCells(int[] cells, int count) {
+		if (count <= 0)
+			return;
+
+		int columns = board.getColumns();
+		int rowFrom = Integer.MAX_VALUE, rowTo = -1;
+		int columnFrom = Integer.MAX_VALUE, columnTo = -1;
+
+		for (int i = 0; i < count; i++) {
+			int row = cells[i] / columns;
+			int column = cells[i] - row * columns;
+			rowFrom = Math.min(rowFrom, row);
+			rowTo = Math.max(rowTo, row);
+			columnFrom = Math.min(columnFrom, column);
+			columnTo = Math.max(columnTo, column);
+		}
+
+		repaint(BORDER + columnFrom * cellWidth, BORDER + rowFrom * cellHeight,
+				(columnTo - columnFrom + 1) * cellWidth, (rowTo - rowFrom + 1)
+						* cellHeight);
+	}
+
+	@Override
+	public Dimension getPreferredSize() {
+		return new Dimension(board.getColumns() * cellWidth + 2 * BORDER,
+				board.getRows() * cellHeight + 2 * BORDER);
+	}
+
+	@Override
+	public Dimension getMinimumSize() {
+		return getPreferredSize();
+	}
+
+	@Override
+	public Dimension getMaximumSize() {
+		return getPreferredSize();
+	}
+
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		Dimension size = getPreferredSize();
+		size.width = Math.min(size.width, MAX_VIEWPORT_WIDTH);
+		size.height = Math.min(size.height, MAX_VIEWPORT_HEIGHT);
+		return size;
+	}
+
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visibleRect,
+			int orientation, int direction) {
+		return (orientation == SwingConstants.HORIZONTAL) ? cellWidth
+				: cellHeight;
+	}
+
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visibleRect,
+			int orientation, int direction) {
+		return (orientation == SwingConstants.HORIZONTAL) ? visibleRect.width
+				- cellWidth : visibleRect.height - cellHeight;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return false;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return false;
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		if (clip == null)
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+		g.setColor(getBackground());
+		g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+		// Painting only cells inside the clip
+		int rowFrom = Math.max(getRowAt(clip.y), 0);
+		int rowTo = Math.min(getRowAt(clip.y + clip.height - 1),
+				board.getRows() - 1);
+		int columnFrom = Math.max(getColumnAt(clip.x), 0);
+		int columnTo = Math.min(getColumnAt(clip.x + clip.width - 1),
+				board.getColumns() - 1);
+
+		FontMetrics metrics = g.getFontMetrics();
+		boolean detailed = cellWidth >= MIN_DETAILED_CELL_SIZE
+				&& cellHeight >= MIN_DETAILED_CELL_SIZE;
+
+		for (int row = rowFrom; row <= rowTo; row++) {
+			int y = BORDER + row * cellHeight;
+			for (int column = columnFrom; column <= columnTo; column++) {
+				int x = BORDER + column * cellWidth;
+				if (detailed) {
+					paintCell(g, metrics, row, column, x, y);
+				} else {
+					paintSmallCell(g, row, column, x, y);
+				}
+			}
+		}
+
+		g.setColor(BORDER_COLOR);
+		g.drawRect(0, 0, board.getColumns() * cellWidth + 2 * BORDER - 1,
+				board.getRows() * cellHeight + 2 * BORDER - 1);
+	}
+
+	/**
+	 * Paints single cell at specified location.
+	 */
+	private void paintCell(Graphics g, FontMetrics metrics, int row,
+			int column, int x, int y) {
+		int width = cellWidth - 2;
+		int height = cellHeight - 2;
+
+		if (board.isOpened(row, column)) {
+			g.setColor(CONTENT_COLOR);
+			g.fillRect(x + 1, y + 1, width, height);
+
+			if (board.hasMine(row, column)) {
+				paintMine(g, x + 1, y + 1, cellWidth, cellHeight);
+			} else {
+				int adjacent = board.getAdjacentMines(row, column);
+				if (adjacent > 0) {
+					String text = Integer.toString(adjacent);
+					g.setColor(getColor(adjacent));
+					g.drawString(text,
+							x + (cellWidth - metrics.stringWidth(text)) / 2,
+							y + (cellHeight - metrics.getHeight()) / 2
+									+ metrics.getAscent());
+				}
+			}
+		} else {
+			g.setColor(COVER_COLOR);
+			g.fillRect(x + 1, y + 1, width, height);
+
+			if (board.isFlagged(row, column)) {
+				paintFlag(g, x + 1, y + 1, cellWidth, cellHeight);
+			}
+		}
+
+		g.setColor(BORDER_COLOR);
+		g.drawRect(x, y, cellWidth - 1, cellHeight - 1);
+	}
+
+	/**
+	 * Paints single cell as a colored square when cells are too small to show
+	 * numbers, flags and mines.
+	 */
+	private void paintSmallCell(Graphics g, int row, int column, int x, int y) {
+		Color color;
+		if (board.isOpened(row, column)) {
+			if (board.hasMine(row, column)) {
+				color = Color.BLACK;
+			} else {
+				int adjacent = board.getAdjacentMines(row, column);
+				color = (adjacent > 0) ? getColor(adjacent) : CONTENT_COLOR;
+			}
+		} else {
+			color = board.isFlagged(row, column) ? Color.RED : COVER_COLOR;
+		}
+
+		g.setColor(color);
+		g.fillRect(x, y, cellWidth, cellHeight);
+	}
+
+	/**
+	 * Paints mine in the cell of specified size at specified location.
+	 *
+	 * @param g
+	 * @param x
+	 * @param y
+	 * @param cellWidth
+	 * @param cellHeight
+	 */
+	static void paintMine(Graphics g, int x, int y, int cellWidth,
+			int cellHeight) {
+		// Drawing oval
+		int ovalX = x + (int) (cellWidth * 0.3);
+		int ovalY = y + (int) (cellHeight * 0.3);
+		int width = (int) (cellWidth * 0.4);
+		int height = (int) (cellHeight * 0.4);
+
+		g.setColor(Color.BLACK);
+		g.fillOval(ovalX, ovalY, width, height);
+		g.drawOval(ovalX, ovalY, width, height);
+
+		// Drawing main lines
+		g.drawLine(x + (int) (cellWidth * 0.125), y + (int) (cellHeight * 0.5),
+				x + (int) (cellWidth * 0.875), y + (int) (cellHeight * 0.5));
+		g.drawLine(x + (int) (cellWidth * 0.5), y + (int) (cellHeight * 0.125),
+				x + (int) (cellWidth * 0.5), y + (int) (cellHeight * 0.875));
+	}
+
+	/**
+	 * Paints flag in the cell of specified size at specified location.
+	 *
+	 * @param g
+	 * @param x
+	 * @param y
+	 * @param cellWidth
+	 * @param cellHeight
+	 */
+	static void paintFlag(Graphics g, int x, int y, int cellWidth,
+			int cellHeight) {
+		int poleX = x + (int) (cellWidth * 0.25);
+		int poleY = y + (int) (cellHeight * 0.1);
+		int width = 3;
+		int height = (int) (cellHeight * 0.75);
+
+		g.setColor(Color.BLACK);
+		g.fillRect(poleX, poleY, width, height);
+		g.drawRect(poleX, poleY, width, height);
+
+		Polygon p = new Polygon();
+		p.addPoint(poleX + width, poleY);
+		p.addPoint(poleX + width + (height / 2), poleY + (height / 4));
+		p.addPoint(poleX + width, poleY + (height / 2));
+
+		g.setColor(Color.RED);
+		g.fillPolygon(p);
+		g.setColor(Color.BLACK);
+		g.drawPolygon(p);
+	}
+
+	/**
+	 * This method returns Color for specified integer.
+	 *
+	 * @param number
+	 * @return Color
+	 */
+	static Color getColor(int number) {
+		switch (number) {
+		case 1:
+			return COLOR_NUMBER_1;
+		case 2:
+			return COLOR_NUMBER_2;
+		case 3:
+			return COLOR_NUMBER_3;
+		case 4:
+			return COLOR_NUMBER_4;
+		case 5:
+			return COLOR_NUMBER_5;
+		case 6:
+			return COLOR_NUMBER_6;
+		case 7:
+			return COLOR_NUMBER_7;
+		case 8:
+			return COLOR_NUMBER_8;
+		default:
+			return Color.GRAY;
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package vkurman.jminesweeper;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <code>NoGuessGenerator</code> creates boards that can be solved by logic
+ * alone after opening the start cell in the center of the board. Candidate
+ * boards are generated and played by <code>Solver</code> on all threads of
+ * <code>ForkJoinPool</code> at the same time. Candidates are numbered and
+ * candidate <code>k</code> is the board with seed <code>seed + k</code>.
+ * Workers take the next number until a board is found, and the board with
+ * the lowest number is returned, so that the same seed always gives the same
+ * board whatever the number of threads is.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class NoGuessGenerator {
+
+	// Candidates checked by one call to generate before giving up
+	public static final int DEFAULT_MAX_ATTEMPTS = 20000;
+
+	private final int rows;
+	private final int columns;
+	private final int mines;
+	private final int maxAttempts;
+	private final ForkJoinPool pool;
+
+	// Totals of all calls, used for reporting
+	private final AtomicLong candidates = new AtomicLong();
+	private final AtomicLong boards = new AtomicLong();
+
+	/**
+	 * Constructor for boards of specified difficulty level.
+	 *
+	 * @param difficulty
+	 */
+	public NoGuessGenerator(Difficulty difficulty) {
+		this(difficulty.getRows(), difficulty.getColumns(), difficulty
+				.getMines());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 */
+	public NoGuessGenerator(int rows, int columns, int mines) {
+		this(rows, columns, mines, DEFAULT_MAX_ATTEMPTS, ForkJoinPool
+				.commonPool());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param rows
+	 * @param columns
+	 * @param mines
+	 * @param maxAttempts
+	 *            - candidates checked by one call before giving up
+	 * @param pool
+	 */
+	public NoGuessGenerator(int rows, int columns, int mines, int maxAttempts,
+			ForkJoinPool pool) {
+		this.rows = rows;
+		this.columns = columns;
+		this.mines = mines;
+		this.maxAttempts = maxAttempts;
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns row of the cell that has to be opened first.
+	 *
+	 * @return int
+	 */
+	public int getStartRow() {
+		return rows / 2;
+	}
+
+	/**
+	 * Returns column of the cell that has to be opened first.
+	 *
+	 * @return int
+	 */
+	public int getStartColumn() {
+		return columns / 2;
+	}
+
+	/**
+	 * Returns number of candidate boards checked by all calls.
+	 *
+	 * @return long
+	 */
+	public long getCandidates() {
+		return candidates.get();
+	}
+
+	/**
+	 * Returns number of no-guess boards generated by all calls.
+	 *
+	 * @return long
+	 */
+	public long getBoards() {
+		return boards.get();
+	}
+
+	/**
+	 * Generates no-guess board from random seed.
+	 *
+	 * @return Board - or null if no board was found
+	 */
+	public Board generate() {
+		return generate(new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Generates no-guess board from specified seed. Mines are placed and
+	 * start cell is not opened yet. Returns null if none of
+	 * <code>maxAttempts</code> candidates can be solved without guessing.
+	 *
+	 * @param seed
+	 * @return Board
+	 */
+	public Board generate(long seed) {
+		AtomicLong next = new AtomicLong();
+		AtomicLong found = new AtomicLong(Long.MAX_VALUE);
+
+		Worker[] workers = new Worker[Math.max(pool.getParallelism(), 1)];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Worker(seed, next, found);
+		}
+		pool.invoke(new InvokeAllTask(workers));
+
+		if (found.get() == Long.MAX_VALUE)
+			return null;
+		boards.incrementAndGet();
+		// Board is generated again as the checked one is played
+		return newBoard(seed + found.get());
+	}
+
+	/**
+	 * Generates single candidate board from specified seed.
+	 *
+	 * @param seed
+	 * @return Board
+	 */
+	private Board newBoard(long seed) {
+		Board board = new Board(rows, columns, mines, seed);
+		board.placeMines(getStartRow(), getStartColumn());
+		return board;
+	}
+
+	/**
+	 * Returns TRUE if board generated from specified seed can be solved
+	 * without guessing.
+	 *
+	 * @param seed
+	 * @return boolean
+	 */
+	private boolean isNoGuess(long seed) {
+		Board board = newBoard(seed);
+		board.open(getStartRow(), getStartColumn());
+		return new Solver(board).play();
+	}
+
+	/**
+	 * Checks candidates with the next free number until a candidate with
+	 * lower number is found or the attempts run out.
+	 */
+	private class Worker extends RecursiveAction {
+		private static final long serialVersionUID = 6218764339151468374L;
+
+		private final long seed;
+		private final AtomicLong next;
+		private final AtomicLong found;
+
+		Worker(long seed, AtomicLong next, AtomicLong found) {
+			this.seed = seed;
+			this.next = next;
+			this.found = found;
+		}
+
+		@Override
+		protected void compute() {
+			while (true) {
+				long k = next.getAndIncrement();
+				if (k >= maxAttempts || k > found.get())
+					return;
+
+				candidates.incrementAndGet();
+				if (isNoGuess(seed + k)) {
+					// Keeping the lowest number found by any worker
+					long current;
+					while (k < (current = found.get())
+							&& !found.compareAndSet(current, k))
+						;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs all workers at the same time.
+	 */
+	private static class InvokeAllTask extends RecursiveAction {
+		private static final long serialVersionUID = -3072866424961513385L;
+
+		private final Worker[] workers;
+
+		InvokeAllTask(Worker[] workers) {
+			this.workers = workers;
+		}
+
+		@Override
+		protected void compute() {
+			invokeAll(workers);
+		}
+	}
+}
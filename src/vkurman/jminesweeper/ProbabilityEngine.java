@@ -0,0 +1,638 @@
+package vkurman.jminesweeper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <code>ProbabilityEngine</code> calculates exact probability of mine for every
+ * covered cell of the <code>Board</code>, when <code>Solver</code> can not
+ * prove any more cells.
+ *
+ * <p>
+ * Unknown cells next to opened numbers are the frontier. The frontier is split
+ * into components which do not share any constraint. All mine assignments of
+ * every component consistent with the numbers are enumerated on
+ * <code>ForkJoinPool</code>, big components are split further by the value of
+ * the first cells. Results of components are combined with the number of mines
+ * left on the board: every combination of mines in components is weighted by
+ * the number of ways to place the rest of mines in unknown cells away from the
+ * frontier.
+ *
+ * <p>
+ * Enumeration results are kept per component, so that only components
+ * changed by the last move are enumerated again.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class ProbabilityEngine {
+
+	// Components with more cells left to assign are split into two tasks
+	private static final int SPLIT_CELLS = 18;
+
+	private final Board board;
+	private final Solver solver;
+	private final ForkJoinPool pool;
+	private final int rows;
+	private final int columns;
+
+	private Map<ComponentKey, Counts> cache = new HashMap<ComponentKey, Counts>();
+	private int enumerated;
+
+	/**
+	 * Constructor using common <code>ForkJoinPool</code>.
+	 *
+	 * @param board
+	 * @param solver
+	 *            - solver kept up to date with the board
+	 */
+	public ProbabilityEngine(Board board, Solver solver) {
+		this(board, solver, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param board
+	 * @param solver
+	 *            - solver kept up to date with the board
+	 * @param pool
+	 */
+	public ProbabilityEngine(Board board, Solver solver, ForkJoinPool pool) {
+		this.board = board;
+		this.solver = solver;
+		this.pool = pool;
+		this.rows = board.getRows();
+		this.columns = board.getColumns();
+	}
+
+	/**
+	 * Returns number of components enumerated by the last call to
+	 * <code>compute()</code>, components taken from cache are not counted.
+	 *
+	 * @return int
+	 */
+	public int getEnumeratedComponents() {
+		return enumerated;
+	}
+
+	/**
+	 * Calculates probability of mine for every cell, indexed by
+	 * <code>row * columns + column</code>. Opened and proven safe cells have 0,
+	 * flagged and proven mines have 1.
+	 *
+	 * @return double[]
+	 */
+	public double[] compute() {
+		double[] probabilities = new double[rows * columns];
+		int[] variable = new int[probabilities.length];
+		Arrays.fill(variable, -1);
+
+		// Collecting frontier cells and constraints
+		List<int[]> constraints = new ArrayList<int[]>();
+		IntList frontier = new IntList();
+		for (int index = 0; index < probabilities.length; index++) {
+			int row = index / columns, column = index % columns;
+			if (solver.isMine(row, column)) {
+				probabilities[index] = 1;
+			} else if (board.isOpened(row, column)
+					&& board.getAdjacentMines(row, column) > 0) {
+				int[] constraint = collectConstraint(index, variable, frontier);
+				if (constraint != null)
+					constraints.add(constraint);
+			}
+		}
+
+		List<Component> components = split(constraints, variable, frontier);
+
+		// Enumerating components which are not in the cache
+		Map<ComponentKey, Counts> results = new HashMap<ComponentKey, Counts>();
+		List<EnumerationTask> tasks = new ArrayList<EnumerationTask>();
+		for (Component component : components) {
+			Counts counts = cache.get(component.key);
+			if (counts == null) {
+				EnumerationTask task = new EnumerationTask(component,
+						component.newState(), 0);
+				component.task = task;
+				tasks.add(task);
+			} else {
+				component.counts = counts;
+			}
+		}
+		if (!tasks.isEmpty())
+			pool.invoke(new InvokeAllTask(tasks));
+		for (Component component : components) {
+			if (component.task != null)
+				component.counts = component.task.join();
+			results.put(component.key, component.counts);
+		}
+		enumerated = tasks.size();
+		cache = results;
+
+		combine(components, frontier.size, probabilities, variable);
+		return probabilities;
+	}
+
+	/**
+	 * Returns constraint of opened cell as array: index of the cell, mines
+	 * left and indexes of unknown neighbours. New unknown neighbours are added
+	 * to the frontier. Returns null if cell has no unknown neighbours.
+	 */
+	private int[] collectConstraint(int index, int[] variable, IntList frontier) {
+		int row = index / columns, column = index % columns;
+		int[] cells = new int[10];
+		int count = 2, mines = 0;
+
+		for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+			for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1,
+					columns - 1); c++) {
+				if (solver.isMine(r, c)) {
+					mines++;
+				} else if (solver.isUnknown(r, c)) {
+					int cell = r * columns + c;
+					if (variable[cell] < 0) {
+						variable[cell] = frontier.size;
+						frontier.add(cell);
+					}
+					cells[count++] = cell;
+				}
+			}
+		}
+		if (count == 2)
+			return null;
+
+		cells[0] = index;
+		cells[1] = board.getAdjacentMines(row, column) - mines;
+		return Arrays.copyOf(cells, count);
+	}
+
+	/**
+	 * Splits constraints into components that do not share cells.
+	 */
+	private List<Component> split(List<int[]> constraints, int[] variable,
+			IntList frontier) {
+		int[] parent = new int[frontier.size];
+		for (int i = 0; i < parent.length; i++)
+			parent[i] = i;
+
+		for (int[] constraint : constraints) {
+			int first = find(parent, variable[constraint[2]]);
+			for (int i = 3; i < constraint.length; i++) {
+				int other = find(parent, variable[constraint[i]]);
+				if (other != first)
+					parent[other] = first;
+			}
+		}
+
+		Map<Integer, Component> byRoot = new HashMap<Integer, Component>();
+		List<Component> components = new ArrayList<Component>();
+		for (int[] constraint : constraints) {
+			int root = find(parent, variable[constraint[2]]);
+			Component component = byRoot.get(root);
+			if (component == null) {
+				component = new Component();
+				byRoot.put(root, component);
+				components.add(component);
+			}
+			component.constraints.add(constraint);
+		}
+		for (Component component : components) {
+			component.build(variable);
+		}
+		return components;
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	/**
+	 * Combines counts of components with the number of mines left and
+	 * stores probabilities of frontier cells and other unknown cells.
+	 */
+	private void combine(List<Component> components, int frontierSize,
+			double[] probabilities, int[] variable) {
+		int minesLeft = board.getMines() - solver.getKnownMines();
+		int others = solver.getUnknownCells() - frontierSize;
+		int size = components.size();
+
+		// Weight of K mines on frontier: ways to place the rest of mines in
+		// other cells, relative to the largest one
+		int maxFrontierMines = 0;
+		for (Component component : components)
+			maxFrontierMines += component.cells.length;
+		double[] weight = binomialWeights(others, minesLeft, maxFrontierMines);
+
+		// Distributions of mines in components before and after each one
+		double[][] prefix = new double[size + 1][];
+		double[][] suffix = new double[size + 1][];
+		prefix[0] = new double[] { 1 };
+		suffix[size] = new double[] { 1 };
+		for (int i = 0; i < size; i++)
+			prefix[i + 1] = convolve(prefix[i], components.get(i).counts.total);
+		for (int i = size - 1; i >= 0; i--)
+			suffix[i] = convolve(components.get(i).counts.total, suffix[i + 1]);
+
+		for (int i = 0; i < size; i++) {
+			Component component = components.get(i);
+			Counts counts = component.counts;
+			double[] rest = convolve(prefix[i], suffix[i + 1]);
+
+			// Weight of component having k mines
+			double[] kWeight = new double[counts.total.length];
+			double total = 0;
+			for (int k = 0; k < kWeight.length; k++) {
+				for (int j = 0; j < rest.length; j++) {
+					if (k + j < weight.length)
+						kWeight[k] += rest[j] * weight[k + j];
+				}
+				total += counts.total[k] * kWeight[k];
+			}
+
+			for (int v = 0; v < component.cells.length; v++) {
+				double mine = 0;
+				for (int k = 0; k < kWeight.length; k++) {
+					mine += counts.mines[k][v] * kWeight[k];
+				}
+				probabilities[component.cells[v]] = (total > 0) ? mine / total
+						: 0;
+			}
+		}
+
+		// Unknown cells away from the frontier share the same probability
+		if (others > 0) {
+			double[] all = prefix[size];
+			double mines = 0, total = 0;
+			for (int k = 0; k < all.length && k < weight.length; k++) {
+				total += all[k] * weight[k];
+				mines += all[k] * weight[k] * (minesLeft - k) / others;
+			}
+			double probability = (total > 0) ? mines / total : 0;
+
+			for (int index = 0; index < probabilities.length; index++) {
+				if (variable[index] < 0
+						&& solver.isUnknown(index / columns, index % columns))
+					probabilities[index] = probability;
+			}
+		}
+	}
+
+	/**
+	 * Returns weights C(others, minesLeft - k) for k mines on frontier,
+	 * divided by the largest weight.
+	 */
+	private static double[] binomialWeights(int others, int minesLeft,
+			int maxFrontierMines) {
+		int length = Math.min(maxFrontierMines, minesLeft) + 1;
+		double[] log = new double[Math.max(length, 0)];
+		double max = Double.NEGATIVE_INFINITY;
+		for (int k = 0; k < log.length; k++) {
+			int m = minesLeft - k;
+			log[k] = (m >= 0 && m <= others) ? logChoose(others, m)
+					: Double.NEGATIVE_INFINITY;
+			max = Math.max(max, log[k]);
+		}
+
+		double[] weight = new double[log.length];
+		for (int k = 0; k < log.length; k++)
+			weight[k] = (log[k] == Double.NEGATIVE_INFINITY) ? 0 : Math
+					.exp(log[k] - max);
+		return weight;
+	}
+
+	private static double logChoose(int n, int k) {
+		k = Math.min(k, n - k);
+		double result = 0;
+		for (int i = 1; i <= k; i++) {
+			result += Math.log(n - k + i) - Math.log(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Convolution of two distributions, scaled so that the largest value is
+	 * 1. Scaling does not change probabilities as it is applied to both
+	 * numerator and denominator.
+	 */
+	private static double[] convolve(double[] a, double[] b) {
+		double[] result = new double[a.length + b.length - 1];
+		double max = 0;
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] == 0)
+				continue;
+			for (int j = 0; j < b.length; j++) {
+				result[i + j] += a[i] * b[j];
+			}
+		}
+		for (double value : result)
+			max = Math.max(max, value);
+		if (max > 0) {
+			for (int i = 0; i < result.length; i++)
+				result[i] /= max;
+		}
+		return result;
+	}
+
+	/**
+	 * Group of constraints sharing unknown cells.
+	 */
+	private static class Component {
+		final List<int[]> constraints = new ArrayList<int[]>();
+		int[] cells;
+		// Constraints as local cell numbers and mines left
+		int[][] constraintCells;
+		int[] constraintMines;
+		// Constraints of every local cell
+		int[][] cellConstraints;
+		ComponentKey key;
+		Counts counts;
+		EnumerationTask task;
+
+		/**
+		 * Numbers cells of component in order of constraints, so that cells
+		 * of the same constraint are assigned one after another.
+		 */
+		void build(int[] variable) {
+			IntList order = new IntList();
+			Map<Integer, Integer> local = new HashMap<Integer, Integer>();
+			for (int[] constraint : constraints) {
+				for (int i = 2; i < constraint.length; i++) {
+					if (!local.containsKey(constraint[i])) {
+						local.put(constraint[i], order.size);
+						order.add(constraint[i]);
+					}
+				}
+			}
+			cells = Arrays.copyOf(order.values, order.size);
+
+			constraintCells = new int[constraints.size()][];
+			constraintMines = new int[constraints.size()];
+			int[] perCell = new int[cells.length];
+			IntList keyValues = new IntList();
+			for (int c = 0; c < constraintCells.length; c++) {
+				int[] constraint = constraints.get(c);
+				constraintMines[c] = constraint[1];
+				constraintCells[c] = new int[constraint.length - 2];
+				keyValues.add(constraint[0]);
+				keyValues.add(constraint[1]);
+				for (int i = 2; i < constraint.length; i++) {
+					int v = local.get(constraint[i]);
+					constraintCells[c][i - 2] = v;
+					perCell[v]++;
+					keyValues.add(constraint[i]);
+				}
+			}
+
+			cellConstraints = new int[cells.length][];
+			for (int v = 0; v < cells.length; v++)
+				cellConstraints[v] = new int[perCell[v]];
+			Arrays.fill(perCell, 0);
+			for (int c = 0; c < constraintCells.length; c++) {
+				for (int v : constraintCells[c])
+					cellConstraints[v][perCell[v]++] = c;
+			}
+
+			key = new ComponentKey(Arrays.copyOf(keyValues.values,
+					keyValues.size));
+		}
+
+		/**
+		 * Returns initial state of enumeration: mines left and unassigned
+		 * cells of every constraint.
+		 */
+		State newState() {
+			State state = new State();
+			state.left = constraintMines.clone();
+			state.unassigned = new int[constraintCells.length];
+			for (int c = 0; c < constraintCells.length; c++)
+				state.unassigned[c] = constraintCells[c].length;
+			state.assignment = new boolean[cells.length];
+			return state;
+		}
+	}
+
+	/**
+	 * State of enumeration, copied when enumeration is split.
+	 */
+	private static class State {
+		int[] left;
+		int[] unassigned;
+		boolean[] assignment;
+		int mines;
+
+		State copy() {
+			State state = new State();
+			state.left = left.clone();
+			state.unassigned = unassigned.clone();
+			state.assignment = assignment.clone();
+			state.mines = mines;
+			return state;
+		}
+	}
+
+	/**
+	 * Number of consistent assignments by number of mines in component and
+	 * number of them with mine in every cell.
+	 */
+	private static class Counts {
+		final double[] total;
+		final double[][] mines;
+
+		Counts(int cells) {
+			total = new double[cells + 1];
+			mines = new double[cells + 1][cells];
+		}
+
+		void add(Counts other) {
+			for (int k = 0; k < total.length; k++) {
+				total[k] += other.total[k];
+				for (int v = 0; v < mines[k].length; v++)
+					mines[k][v] += other.mines[k][v];
+			}
+		}
+
+		/**
+		 * Scales counts so that the largest total is 1.
+		 */
+		void normalize() {
+			double max = 0;
+			for (double value : total)
+				max = Math.max(max, value);
+			if (max == 0)
+				return;
+			for (int k = 0; k < total.length; k++) {
+				total[k] /= max;
+				for (int v = 0; v < mines[k].length; v++)
+					mines[k][v] /= max;
+			}
+		}
+	}
+
+	/**
+	 * Enumerates assignments of cells starting from specified one. While many
+	 * cells are left, both values of the cell are enumerated in separate
+	 * tasks.
+	 */
+	private static class EnumerationTask extends RecursiveTask<Counts> {
+		private static final long serialVersionUID = -5524569624101117683L;
+
+		private final Component component;
+		private final State state;
+		private final int cell;
+
+		EnumerationTask(Component component, State state, int cell) {
+			this.component = component;
+			this.state = state;
+			this.cell = cell;
+		}
+
+		@Override
+		protected Counts compute() {
+			Counts counts;
+			if (component.cells.length - cell > SPLIT_CELLS) {
+				State mine = state.copy();
+				EnumerationTask withMine = null;
+				if (assign(mine, cell, true)) {
+					withMine = new EnumerationTask(component, mine, cell + 1);
+					withMine.fork();
+				}
+
+				counts = new Counts(component.cells.length);
+				if (assign(state, cell, false)) {
+					counts.add(new EnumerationTask(component, state, cell + 1)
+							.compute());
+				}
+				if (withMine != null)
+					counts.add(withMine.join());
+			} else {
+				counts = new Counts(component.cells.length);
+				enumerate(state, cell, counts);
+			}
+
+			if (cell == 0)
+				counts.normalize();
+			return counts;
+		}
+
+		private void enumerate(State state, int cell, Counts counts) {
+			if (cell == component.cells.length) {
+				counts.total[state.mines]++;
+				double[] mines = counts.mines[state.mines];
+				for (int v = 0; v < cell; v++) {
+					if (state.assignment[v])
+						mines[v]++;
+				}
+				return;
+			}
+
+			if (assign(state, cell, true))
+				enumerate(state, cell + 1, counts);
+			unassign(state, cell, true);
+			if (assign(state, cell, false))
+				enumerate(state, cell + 1, counts);
+			unassign(state, cell, false);
+		}
+
+		/**
+		 * Assigns value to the cell and returns FALSE if any constraint can
+		 * not be satisfied any more.
+		 */
+		private boolean assign(State state, int cell, boolean mine) {
+			state.assignment[cell] = mine;
+			if (mine)
+				state.mines++;
+
+			boolean valid = true;
+			for (int c : component.cellConstraints[cell]) {
+				state.unassigned[c]--;
+				if (mine)
+					state.left[c]--;
+				if (state.left[c] < 0 || state.left[c] > state.unassigned[c])
+					valid = false;
+			}
+			return valid;
+		}
+
+		private void unassign(State state, int cell, boolean mine) {
+			state.assignment[cell] = false;
+			if (mine)
+				state.mines--;
+
+			for (int c : component.cellConstraints[cell]) {
+				state.unassigned[c]++;
+				if (mine)
+					state.left[c]++;
+			}
+		}
+	}
+
+	/**
+	 * Runs enumeration of all components at the same time.
+	 */
+	private static class InvokeAllTask extends RecursiveAction {
+		private static final long serialVersionUID = 2969403862390281543L;
+
+		private final List<EnumerationTask> tasks;
+
+		InvokeAllTask(List<EnumerationTask> tasks) {
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected void compute() {
+			invokeAll(tasks);
+		}
+	}
+
+	/**
+	 * Cells and numbers of constraints of component, used to find the same
+	 * component after a move.
+	 */
+	private static class ComponentKey {
+		private final int[] values;
+		private final int hash;
+
+		ComponentKey(int[] values) {
+			this.values = values;
+			this.hash = Arrays.hashCode(values);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return (o instanceof ComponentKey)
+					&& Arrays.equals(values, ((ComponentKey) o).values);
+		}
+	}
+
+	/**
+	 * Growing list of primitive integers.
+	 */
+	private static class IntList {
+		int[] values = new int[16];
+		int size;
+
+		void add(int value) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			values[size++] = value;
+		}
+	}
+}
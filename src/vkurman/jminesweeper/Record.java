@@ -1,7 +1,8 @@
 package vkurman.jminesweeper;
 
 /**
- * <code>Record</code> class represents record in the table of records.
+ * <code>Record</code> class represents record in the table of records. Time
+ * of the game is kept in nanoseconds.
  *
  * <p>
  * Date : 22 Nov 2016
@@ -54,7 +55,7 @@ class Record {
 	}
 
 	/**
-	 * Returns time in milliseconds.
+	 * Returns time in nanoseconds.
 	 * 
 	 * @return time
 	 */
@@ -70,4 +71,16 @@ class Record {
 	public void setTime(long time) {
 		this.time = time;
 	}
+
+	/**
+	 * Formats time in nanoseconds as minutes and seconds with milliseconds.
+	 * 
+	 * @param time
+	 * @return String
+	 */
+	public static String formatTime(long time) {
+		long millis = time / 1000000L;
+		return String.format("%dmin %d.%03ds", millis / 60000,
+				millis / 1000 % 60, millis % 1000);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,738 @@
+package vkurman.jminesweeper;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * <code>RecordsFile</code> keeps games of all difficulty levels in a single
+ * binary file, <code>records.dat</code>, which is read through a
+ * <code>FileChannel</code> by pages. File starts with a header that gives offset,
+ * number of games and number of the last merged journal entry of every
+ * difficulty. Games of one difficulty follow each other in order of their
+ * place and take <code>ENTRY_SIZE</code> bytes each: time, CRC32 of the
+ * entry, length of the name and the name in UTF-8, cut to
+ * <code>NAME_BYTES</code>. Games of every difficulty are read whole into a
+ * <code>Leaderboard</code> once at start, which answers every lookup of the
+ * game. Fixed width allows to copy games of other difficulties without
+ * reading them when one difficulty is saved.
+ *
+ * <p>
+ * File of records is never overwritten in place: new content is written to a
+ * temporary file, synced to disk and renamed over the old file. New games
+ * are appended to a text journal of the difficulty, so that adding a game
+ * costs a single write and sync. The journal is replayed over the file when
+ * records are read and then merged into the file.
+ *
+ * <p>
+ * Every journal entry has a sequence number and file keeps the number of the
+ * last merged entry, so that entries are never applied twice. Entry starts
+ * with its CRC32 and entries that do not match it, for example the last one
+ * written when the game was killed, are ignored. Games in the file that do
+ * not match their CRC32 are skipped as well.
+ *
+ * <p>
+ * The format was planned to be read through a <code>MappedByteBuffer</code>,
+ * answering lookups from the file without parsing all of it. That design is
+ * deliberately not used: Java can not unmap a <code>MappedByteBuffer</code>
+ * until it is garbage collected, and on Windows a mapped file can not be
+ * replaced by rename, so saving records would fail while a mapping is alive.
+ * Instead the file is read by pages through a <code>FileChannel</code> that
+ * is closed right after, and all games are parsed into a
+ * <code>Leaderboard</code> at start, which answers lookups in memory at the
+ * cost of parsing the file once.
+ *
+ * <p>
+ * Earlier versions kept every difficulty in a text file named after it. Such
+ * file is read when the difficulty is not in the binary file yet, its games
+ * are saved to the binary file and the text file is removed.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class RecordsFile {
+
+	public static final String fileName = "records.dat";
+	public static final String journalExtension = ".journal";
+	private static final String tempExtension = ".tmp";
+	// First line of text file, followed by number of the last merged entry
+	private static final char header = '#';
+	private static final Charset journalCharset = Charset.forName("UTF-8");
+	// Games read or written at once
+	private static final int PAGE_SIZE = 1024;
+
+	// "JMSR", start of the binary file, and version of its layout
+	private static final int MAGIC = 0x4A4D5352;
+	private static final int VERSION = 2;
+	// Version 1 kept times in milliseconds, version 2 in nanoseconds
+	private static final long NANOS_PER_MILLI = 1000000L;
+	// Magic, version and number of difficulties, followed by CRC32 of header
+	private static final int HEADER_SIZE = 12;
+	// Offset, number of games, sequence and flags of one difficulty
+	private static final int REGION_SIZE = 24;
+	private static final int REGION_PRESENT = 1;
+	// Time, CRC32, name length and name of one game
+	public static final int NAME_BYTES = 50;
+	public static final int ENTRY_SIZE = 8 + 4 + 2 + NAME_BYTES;
+	private static final int CRC_OFFSET = 8;
+	private static final int NAME_OFFSET = 14;
+
+	private final File directory;
+	// Sequence numbers of the last journal entries for every difficulty
+	private final Map<Difficulty, Long> sequences = new HashMap<Difficulty, Long>();
+
+	/**
+	 * Constructor for records kept in the working directory.
+	 */
+	public RecordsFile() {
+		this(new File("."));
+	}
+
+	/**
+	 * Constructor for records kept in specified directory.
+	 *
+	 * @param directory
+	 */
+	public RecordsFile(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns binary file of records of all difficulties.
+	 *
+	 * @return File
+	 */
+	public File getFile() {
+		return new File(directory, fileName);
+	}
+
+	/**
+	 * Returns text file of records for specified difficulty written by
+	 * earlier versions.
+	 *
+	 * @param difficulty
+	 * @return File
+	 */
+	public File getTextFile(Difficulty difficulty) {
+		return new File(directory, difficulty.getName() + JMinesweeper.extension);
+	}
+
+	/**
+	 * Returns journal of new records for specified difficulty.
+	 *
+	 * @param difficulty
+	 * @return File
+	 */
+	public File getJournal(Difficulty difficulty) {
+		return new File(directory, difficulty.getName() + journalExtension);
+	}
+
+	/**
+	 * Reads games of specified difficulty into supplied leaderboard and
+	 * applies new games from the journal. Text file of earlier versions is
+	 * read if the difficulty is not in the binary file yet. If the journal had
+	 * any entries or text file was read, games are saved to the binary file
+	 * and journal and text file are removed.
+	 *
+	 * @param difficulty
+	 * @param records
+	 * @throws IOException
+	 */
+	public synchronized void read(Difficulty difficulty, Leaderboard records)
+			throws IOException {
+		File textFile = getTextFile(difficulty);
+		File journal = getJournal(difficulty);
+
+		long sequence;
+		boolean migrate = false;
+		FileChannel channel = open();
+		try {
+			ByteBuffer header = (channel == null) ? null : readHeader(channel);
+			if (header != null && isPresent(header, difficulty)) {
+				sequence = readRegion(channel, header, difficulty, records);
+			} else {
+				sequence = -1;
+			}
+		} finally {
+			if (channel != null)
+				channel.close();
+		}
+
+		if (sequence >= 0) {
+			// Games have been read from the binary file
+		} else if (textFile.exists()) {
+			sequence = readTextFile(textFile, records);
+			migrate = true;
+		} else if (journal.exists()) {
+			sequence = 0;
+		} else {
+			throw new FileNotFoundException(getFile().getPath());
+		}
+		sequences.put(difficulty, sequence);
+
+		if (journal.exists()) {
+			replay(difficulty, journal, records);
+			save(difficulty, records);
+		} else if (migrate) {
+			save(difficulty, records);
+		}
+
+		if (migrate && !textFile.delete())
+			throw new IOException("Can not delete " + textFile.getPath());
+	}
+
+	/**
+	 * Opens the binary file for reading. Returns null if there is no file yet.
+	 * File is never mapped, so that it can be replaced on every platform as
+	 * soon as the channel is closed.
+	 */
+	private FileChannel open() throws IOException {
+		File file = getFile();
+		if (!file.exists())
+			return null;
+		return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+	}
+
+	/**
+	 * Reads and checks header of the binary file.
+	 */
+	private ByteBuffer readHeader(FileChannel channel) throws IOException {
+		String path = getFile().getPath();
+		long size = channel.size();
+		if (size < HEADER_SIZE + 4)
+			throw new IOException("Not a records file " + path);
+
+		ByteBuffer start = ByteBuffer.allocate(HEADER_SIZE);
+		readFully(channel, start, 0);
+		if (start.getInt(0) != MAGIC || start.getInt(4) < 1
+				|| start.getInt(4) > VERSION)
+			throw new IOException("Not a records file " + path);
+
+		int regions = start.getInt(8);
+		int headerSize = headerSize(regions);
+		if (headerSize < 0 || headerSize > size)
+			throw new IOException("Damaged records file " + path);
+
+		ByteBuffer header = ByteBuffer.allocate(headerSize);
+		readFully(channel, header, 0);
+		if (header.getInt(headerSize - 4) != (int) checksum(header, 0,
+				headerSize - 4))
+			throw new IOException("Damaged records file " + path);
+
+		for (int i = 0; i < regions; i++) {
+			int region = HEADER_SIZE + i * REGION_SIZE;
+			long offset = header.getLong(region);
+			int count = header.getInt(region + 8);
+			if (offset < headerSize || count < 0
+					|| offset + (long) count * ENTRY_SIZE > size)
+				throw new IOException("Damaged records file " + path);
+		}
+		return header;
+	}
+
+	/**
+	 * Fills the buffer from specified position of the file.
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer buffer,
+			long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if (read < 0)
+				throw new EOFException("Records file is too short");
+			position += read;
+		}
+	}
+
+	/**
+	 * Returns nanoseconds in a unit of time stored in the file.
+	 */
+	private static long timeScale(ByteBuffer header) {
+		return (header.getInt(4) == 1) ? NANOS_PER_MILLI : 1;
+	}
+
+	private static int headerSize(int regions) {
+		if (regions < 0 || regions > 1024)
+			return -1;
+		return HEADER_SIZE + regions * REGION_SIZE + 4;
+	}
+
+	private static int region(Difficulty difficulty) {
+		return HEADER_SIZE + difficulty.ordinal() * REGION_SIZE;
+	}
+
+	/**
+	 * Returns TRUE if the file has a region of specified difficulty, even if
+	 * it is empty.
+	 */
+	private static boolean isPresent(ByteBuffer buffer, Difficulty difficulty) {
+		if (difficulty.ordinal() >= buffer.getInt(8))
+			return false;
+		return (buffer.getInt(region(difficulty) + 20) & REGION_PRESENT) != 0;
+	}
+
+	private static long offset(ByteBuffer header, Difficulty difficulty) {
+		return header.getLong(region(difficulty));
+	}
+
+	private static int count(ByteBuffer header, Difficulty difficulty) {
+		return header.getInt(region(difficulty) + 8);
+	}
+
+	/**
+	 * Reads games of one difficulty by pages of <code>PAGE_SIZE</code> and
+	 * returns number of the last merged journal entry. Damaged games are
+	 * skipped.
+	 */
+	private long readRegion(FileChannel channel, ByteBuffer header,
+			Difficulty difficulty, Leaderboard records) throws IOException {
+		long offset = offset(header, difficulty);
+		int count = count(header, difficulty);
+		long timeScale = timeScale(header);
+
+		ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE * ENTRY_SIZE);
+		int damaged = 0;
+		for (int place = 0; place < count; place += PAGE_SIZE) {
+			int games = Math.min(PAGE_SIZE, count - place);
+			page.clear().limit(games * ENTRY_SIZE);
+			readFully(channel, page, offset + (long) place * ENTRY_SIZE);
+
+			for (int entry = 0; entry < games * ENTRY_SIZE; entry += ENTRY_SIZE) {
+				if (!isValid(page, entry)) {
+					damaged++;
+					continue;
+				}
+				records.add(new Record(readName(page, entry), page
+						.getLong(entry) * timeScale));
+			}
+		}
+		if (damaged > 0)
+			System.out.println("***Error reading " + damaged + " records***");
+		return header.getLong(region(difficulty) + 12);
+	}
+
+	/**
+	 * Returns TRUE if the entry matches its CRC32.
+	 */
+	private static boolean isValid(ByteBuffer buffer, int entry) {
+		int length = buffer.getShort(entry + NAME_OFFSET - 2);
+		return length >= 0 && length <= NAME_BYTES
+				&& buffer.getInt(entry + CRC_OFFSET) == entryChecksum(buffer,
+						entry);
+	}
+
+	private static String readName(ByteBuffer buffer, int entry) {
+		int length = buffer.getShort(entry + NAME_OFFSET - 2);
+		byte[] name = new byte[length];
+		ByteBuffer slice = buffer.duplicate();
+		slice.position(entry + NAME_OFFSET);
+		slice.get(name);
+		return new String(name, journalCharset);
+	}
+
+	/**
+	 * CRC32 of the entry without the field that keeps it.
+	 */
+	private static int entryChecksum(ByteBuffer buffer, int entry) {
+		CRC32 crc = new CRC32();
+		ByteBuffer slice = buffer.duplicate();
+		slice.limit(entry + CRC_OFFSET).position(entry);
+		crc.update(slice);
+		slice.limit(entry + ENTRY_SIZE).position(entry + CRC_OFFSET + 4);
+		crc.update(slice);
+		return (int) crc.getValue();
+	}
+
+	private static long checksum(ByteBuffer buffer, int from, int to) {
+		CRC32 crc = new CRC32();
+		ByteBuffer slice = buffer.duplicate();
+		slice.limit(to).position(from);
+		crc.update(slice);
+		return crc.getValue();
+	}
+
+	/**
+	 * Reads games from text file of earlier versions and returns number of
+	 * the last journal entry merged into it. Times are kept in milliseconds.
+	 * Empty places, which have time <code>Record.defaultTime</code>, and
+	 * lines that can not be parsed are skipped.
+	 */
+	private long readTextFile(File file, Leaderboard records) throws IOException {
+		BufferedReader br = new BufferedReader(new InputStreamReader(
+				new FileInputStream(file)));
+		try {
+			long sequence = 0;
+			String strLine = br.readLine();
+			if (strLine != null && strLine.length() > 0
+					&& strLine.charAt(0) == header) {
+				try {
+					sequence = Long.parseLong(strLine.substring(1));
+				} catch (NumberFormatException e) {
+					System.out.println("***Error reading records header***");
+				}
+				strLine = br.readLine();
+			}
+
+			// read content of file
+			int damaged = 0;
+			for (; strLine != null; strLine = br.readLine()) {
+				// Time is the last field, name may contain separator
+				int index = strLine.lastIndexOf(JMinesweeper.separator);
+				if (index < 0) {
+					damaged++;
+					continue;
+				}
+				long time;
+				try {
+					time = Long.parseLong(strLine.substring(index + 1,
+							strLine.length()));
+				} catch (NumberFormatException e) {
+					damaged++;
+					continue;
+				}
+				if (time != Record.defaultTime)
+					records.add(new Record(strLine.substring(0, index), time
+							* NANOS_PER_MILLI));
+			}
+			if (damaged > 0)
+				System.out.println("***Error reading " + damaged + " records***");
+			return sequence;
+		} finally {
+			// Close the input stream
+			br.close();
+		}
+	}
+
+	/**
+	 * Applies journal entries that are not merged into the file yet. Reading
+	 * stops at the first damaged entry.
+	 */
+	private void replay(Difficulty difficulty, File journal,
+			Leaderboard records)
+			throws IOException {
+		BufferedReader br = new BufferedReader(new InputStreamReader(
+				new FileInputStream(journal), journalCharset));
+		try {
+			String strLine;
+			while ((strLine = br.readLine()) != null) {
+				int index = strLine.indexOf(JMinesweeper.separator);
+				if (index < 0)
+					break;
+				String entry = strLine.substring(index + 1);
+				if (!strLine.substring(0, index).equals(checksum(entry)))
+					break;
+
+				// Entry is sequence, time and name
+				String[] fields = entry.split(
+						String.valueOf(JMinesweeper.separator), 3);
+				long sequence = Long.parseLong(fields[0]);
+				if (sequence <= sequences.get(difficulty))
+					continue;
+
+				records.add(new Record(fields[2], parseTime(fields[1])));
+				sequences.put(difficulty, sequence);
+			}
+		} catch (RuntimeException e) {
+			// Damaged entry that happens to match its checksum
+			System.out.println("***Error reading records journal***");
+		} finally {
+			br.close();
+		}
+	}
+
+	/**
+	 * Appends new game to the journal of specified difficulty. Entry is synced
+	 * to disk before this method returns.
+	 *
+	 * @param difficulty
+	 * @param record
+	 * @throws IOException
+	 */
+	public void append(Difficulty difficulty, Record record)
+			throws IOException {
+		append(difficulty, new Record[] { record }, 1);
+	}
+
+	/**
+	 * Appends new games in supplied order to the journal of specified
+	 * difficulty with a single write and sync.
+	 *
+	 * @param difficulty
+	 * @param records
+	 * @param count
+	 *            - number of games to append
+	 * @throws IOException
+	 */
+	public synchronized void append(Difficulty difficulty, Record[] records,
+			int count) throws IOException {
+		Long last = sequences.get(difficulty);
+		long sequence = (last == null) ? 0 : last;
+
+		StringBuilder lines = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			// Line breaks would split the entry
+			String name = records[i].getName().replace('\n', ' ')
+					.replace('\r', ' ');
+			String entry = (++sequence) + "" + JMinesweeper.separator
+					+ formatTime(records[i].getTime()) + JMinesweeper.separator
+					+ name;
+			lines.append(checksum(entry)).append(JMinesweeper.separator)
+					.append(entry).append('\n');
+		}
+
+		FileOutputStream out = new FileOutputStream(getJournal(difficulty),
+				true);
+		try {
+			out.write(lines.toString().getBytes(journalCharset));
+			out.getFD().sync();
+		} finally {
+			out.close();
+		}
+		sequences.put(difficulty, sequence);
+	}
+
+	/**
+	 * Formats time in nanoseconds as milliseconds with 6 decimals, journal
+	 * entries of earlier versions have whole milliseconds.
+	 */
+	private static String formatTime(long time) {
+		String fraction = Long.toString(1000000L + time % NANOS_PER_MILLI);
+		return (time / NANOS_PER_MILLI) + "." + fraction.substring(1);
+	}
+
+	/**
+	 * Parses time in milliseconds, with or without decimals, written to the
+	 * journal and returns it in nanoseconds.
+	 */
+	private static long parseTime(String time) {
+		int point = time.indexOf('.');
+		if (point < 0)
+			return Long.parseLong(time) * NANOS_PER_MILLI;
+
+		String fraction = (time.substring(point + 1) + "000000").substring(0, 6);
+		return Long.parseLong(time.substring(0, point)) * NANOS_PER_MILLI
+				+ Long.parseLong(fraction);
+	}
+
+	private static String checksum(String entry) {
+		CRC32 crc = new CRC32();
+		crc.update(entry.getBytes(journalCharset));
+		return Long.toHexString(crc.getValue());
+	}
+
+	/**
+	 * Saving games of specified difficulty to the file. Games of other
+	 * difficulties are copied from the current file without reading them.
+	 * File is written to a temporary file which replaces the file after it
+	 * has been synced to disk. Journal is removed afterwards, as all its
+	 * entries are in the file.
+	 *
+	 * @param difficulty
+	 * @param records
+	 * @throws IOException
+	 */
+	public synchronized void save(Difficulty difficulty, Leaderboard records)
+			throws IOException {
+		File file = getFile();
+		File temp = new File(directory, file.getName() + tempExtension);
+		FileChannel in = open();
+		try {
+			write(temp, in, difficulty, records);
+		} finally {
+			// File must not be open while it is replaced
+			if (in != null)
+				in.close();
+		}
+
+		try {
+			Files.move(temp.toPath(), file.toPath(),
+					StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp.toPath(), file.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+		}
+		syncDirectory();
+
+		File journal = getJournal(difficulty);
+		if (journal.exists() && !journal.delete())
+			throw new IOException("Can not delete " + journal.getPath());
+	}
+
+	/**
+	 * Writes games of the difficulty and copies games of other difficulties
+	 * from the old file into the temporary file.
+	 */
+	private void write(File temp, FileChannel in,
+			Difficulty difficulty, Leaderboard records) throws IOException {
+		ByteBuffer old;
+		try {
+			old = (in == null) ? null : readHeader(in);
+		} catch (IOException e) {
+			// Damaged file is replaced, games of other difficulties are lost
+			old = null;
+		}
+		Difficulty[] difficulties = Difficulty.values();
+
+		// Regions follow the header in order of difficulties
+		ByteBuffer head = ByteBuffer.allocate(headerSize(difficulties.length));
+		head.putInt(MAGIC).putInt(VERSION).putInt(difficulties.length);
+		long offset = head.capacity();
+		for (Difficulty d : difficulties) {
+			int count = 0;
+			long sequence = 0;
+			int flags = 0;
+			if (d == difficulty) {
+				Long last = sequences.get(d);
+				count = records.size();
+				sequence = (last == null) ? 0 : last;
+				flags = REGION_PRESENT;
+			} else if (old != null && isPresent(old, d)) {
+				count = count(old, d);
+				sequence = old.getLong(region(d) + 12);
+				flags = REGION_PRESENT;
+			}
+			head.putLong(offset).putInt(count).putLong(sequence).putInt(flags);
+			offset += (long) count * ENTRY_SIZE;
+		}
+		if (offset > Integer.MAX_VALUE)
+			throw new IOException("Too many records to save");
+		head.putInt((int) checksum(head, 0, head.capacity() - 4));
+		head.flip();
+
+		FileChannel out = FileChannel.open(temp.toPath(),
+				StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			write(out, head);
+			ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE * ENTRY_SIZE);
+			Record[] games = new Record[PAGE_SIZE];
+			for (Difficulty d : difficulties) {
+				if (d == difficulty) {
+					for (int place = 0; place < records.size(); place += PAGE_SIZE) {
+						int count = records.get(place, games);
+						page.clear();
+						for (int i = 0; i < count; i++) {
+							putEntry(page, games[i]);
+						}
+						page.flip();
+						write(out, page);
+					}
+				} else if (old != null && isPresent(old, d)
+						&& timeScale(old) == 1) {
+					long from = offset(old, d);
+					long length = (long) count(old, d) * ENTRY_SIZE;
+					while (length > 0) {
+						long copied = in.transferTo(from, length, out);
+						if (copied <= 0)
+							throw new EOFException("Records file is too short");
+						from += copied;
+						length -= copied;
+					}
+				} else if (old != null && isPresent(old, d)) {
+					// Times of earlier version are converted to nanoseconds,
+					// damaged games are kept to match the count in header
+					long from = offset(old, d);
+					int count = count(old, d);
+					ByteBuffer oldPage = ByteBuffer.allocate(PAGE_SIZE
+							* ENTRY_SIZE);
+					for (int place = 0; place < count; place += PAGE_SIZE) {
+						int length = Math.min(PAGE_SIZE, count - place) * ENTRY_SIZE;
+						oldPage.clear().limit(length);
+						readFully(in, oldPage, from + (long) place * ENTRY_SIZE);
+						page.clear();
+						for (int entry = 0; entry < length; entry += ENTRY_SIZE) {
+							if (isValid(oldPage, entry)) {
+								putEntry(page, new Record(readName(oldPage,
+										entry), oldPage.getLong(entry)
+										* NANOS_PER_MILLI));
+							} else {
+								ByteBuffer damaged = oldPage.duplicate();
+								damaged.limit(entry + ENTRY_SIZE).position(entry);
+								page.put(damaged);
+							}
+						}
+						page.flip();
+						write(out, page);
+					}
+				}
+			}
+			out.force(true);
+		} finally {
+			out.close();
+		}
+	}
+
+	private static void write(FileChannel out, ByteBuffer buffer)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+
+	/**
+	 * Puts game at the position of the buffer. Name is padded with zeros.
+	 */
+	private static void putEntry(ByteBuffer buffer, Record record) {
+		int entry = buffer.position();
+		byte[] name = encodeName(record.getName());
+		buffer.putLong(record.getTime()).putInt(0).putShort((short) name.length)
+				.put(name);
+		for (int i = name.length; i < NAME_BYTES; i++) {
+			buffer.put((byte) 0);
+		}
+		buffer.putInt(entry + CRC_OFFSET, entryChecksum(buffer, entry));
+	}
+
+	/**
+	 * Returns name in UTF-8, cut at the start of a character if it is longer
+	 * than <code>NAME_BYTES</code>.
+	 */
+	private static byte[] encodeName(String name) {
+		byte[] bytes = name.getBytes(journalCharset);
+		if (bytes.length <= NAME_BYTES)
+			return bytes;
+
+		int length = NAME_BYTES;
+		while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+			length--;
+		}
+		return Arrays.copyOf(bytes, length);
+	}
+
+	/**
+	 * Syncs directory, so that the rename is on disk as well. Not every
+	 * platform can open a directory, then it is skipped.
+	 */
+	private void syncDirectory() {
+		try {
+			FileChannel channel = FileChannel.open(directory.toPath(),
+					StandardOpenOption.READ);
+			try {
+				channel.force(true);
+			} finally {
+				channel.close();
+			}
+		} catch (IOException e) {
+			// Directory can not be synced on this platform
+		}
+	}
+}
@@ -0,0 +1,321 @@
+package vkurman.jminesweeper;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <code>RecordsStore</code> keeps leaderboards of all difficulty levels in
+ * memory and writes changes to <code>RecordsFile</code> on a single background
+ * thread, so that the Swing event thread never waits for the disk.
+ *
+ * <p>
+ * Every finished game is kept, the first <code>RECORDS</code> places are the
+ * records. Leaderboards of all difficulties are read by the background thread
+ * once at start. Changes are applied to the memory at once and queued for
+ * writing. Writer takes all queued changes at once: new games of one
+ * difficulty are appended to the journal with single sync and reset is
+ * written as empty leaderboard, replacing games appended before it.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class RecordsStore {
+
+	// Places that are records, player is asked for name
+	public static final int RECORDS = 10;
+
+	private final RecordsFile recordsFile;
+	private final Map<Difficulty, Leaderboard> records = new EnumMap<Difficulty, Leaderboard>(
+			Difficulty.class);
+	private final CountDownLatch loaded = new CountDownLatch(1);
+
+	private final LinkedBlockingQueue<Change> changes = new LinkedBlockingQueue<Change>();
+	private final AtomicLong queued = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	// Nanoseconds spent reading and writing the file
+	private final AtomicLong ioTime = new AtomicLong();
+	// Number of changes written, guarded by this
+	private long written;
+
+	/**
+	 * Constructor. Background thread starts reading records at once.
+	 *
+	 * @param recordsFile
+	 */
+	public RecordsStore(RecordsFile recordsFile) {
+		this.recordsFile = recordsFile;
+
+		for (Difficulty difficulty : Difficulty.values()) {
+			records.put(difficulty, new Leaderboard());
+		}
+
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				load();
+				write();
+			}
+		}, "RecordsStore");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Returns leaderboard of specified difficulty. Waits only if games are
+	 * still being read at start. Leaderboard must only be changed through this
+	 * store.
+	 *
+	 * @param difficulty
+	 * @return Leaderboard
+	 */
+	public Leaderboard getRecords(Difficulty difficulty) {
+		awaitLoaded();
+		return records.get(difficulty);
+	}
+
+	/**
+	 * Checking if time supplied is a new record.
+	 *
+	 * @param difficulty
+	 * @param time
+	 * @return int - -1 if not a record, otherwise returns place
+	 */
+	public int isRecord(Difficulty difficulty, long time) {
+		int place = getRecords(difficulty).rank(time);
+		return (place < RECORDS) ? place : -1;
+	}
+
+	/**
+	 * Adds finished game and queues it for writing.
+	 *
+	 * @param difficulty
+	 * @param record
+	 * @return int - place of the game, counted from 0
+	 */
+	public int addRecord(Difficulty difficulty, Record record) {
+		int place = getRecords(difficulty).add(record);
+		queue(new Change(difficulty, record, null));
+		return place;
+	}
+
+	/**
+	 * Removes all games of specified difficulty and queues empty leaderboard
+	 * for writing.
+	 *
+	 * @param difficulty
+	 * @return Leaderboard
+	 */
+	public Leaderboard resetRecords(Difficulty difficulty) {
+		Leaderboard leaderboard = getRecords(difficulty);
+		leaderboard.clear();
+
+		queue(new Change(difficulty, null, new Leaderboard()));
+		return leaderboard;
+	}
+
+	/**
+	 * Waits until all queued changes are written, or until timeout expires.
+	 *
+	 * @param timeout
+	 *            - milliseconds
+	 * @return boolean - TRUE if all changes are written
+	 * @throws InterruptedException
+	 */
+	public synchronized boolean flush(long timeout)
+			throws InterruptedException {
+		long end = System.currentTimeMillis() + timeout;
+		long target = queued.get();
+		while (written < target) {
+			long left = end - System.currentTimeMillis();
+			if (left <= 0)
+				return false;
+			wait(left);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns number of changes queued since start.
+	 *
+	 * @return long
+	 */
+	public long getChanges() {
+		return queued.get();
+	}
+
+	/**
+	 * Returns number of times writer has taken changes from the queue. Every
+	 * batch costs at most one sync of every difficulty.
+	 *
+	 * @return long
+	 */
+	public long getBatches() {
+		return batches.get();
+	}
+
+	/**
+	 * Returns time spent reading and writing records since start.
+	 *
+	 * @return long - nanoseconds
+	 */
+	public long getIoTime() {
+		return ioTime.get();
+	}
+
+	private void queue(Change change) {
+		queued.incrementAndGet();
+		changes.add(change);
+	}
+
+	private void awaitLoaded() {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				loaded.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	/**
+	 * Reads records of all difficulties.
+	 */
+	private void load() {
+		try {
+			for (Difficulty difficulty : Difficulty.values()) {
+				GameEvents.RecordsIo event = new GameEvents.RecordsIo();
+				event.begin();
+				long start = System.nanoTime();
+				boolean succeeded = true;
+				try {
+					recordsFile.read(difficulty, records.get(difficulty));
+				} catch (FileNotFoundException e) {
+					// No records of this difficulty yet
+				} catch (IOException e) {
+					succeeded = false;
+					System.out.println("***Error reading records***");
+				} catch (RuntimeException e) {
+					// Records of other difficulties are still read and new
+					// games are still saved
+					succeeded = false;
+					System.out.println("***Error reading records***");
+				}
+				ioTime.addAndGet(System.nanoTime() - start);
+				event.commit(GameEvents.RecordsIo.READ, difficulty, records
+						.get(difficulty).size(), succeeded);
+			}
+		} finally {
+			loaded.countDown();
+		}
+	}
+
+	/**
+	 * Loop of background thread: takes all queued changes and writes them.
+	 */
+	private void write() {
+		List<Change> batch = new ArrayList<Change>();
+		while (true) {
+			try {
+				batch.add(changes.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			changes.drainTo(batch);
+			batches.incrementAndGet();
+
+			for (Difficulty difficulty : Difficulty.values()) {
+				write(difficulty, batch);
+			}
+
+			synchronized (this) {
+				written += batch.size();
+				notifyAll();
+			}
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Writes changes of one difficulty. Only the last reset is saved and
+	 * only games added after it are appended.
+	 */
+	private void write(Difficulty difficulty, List<Change> batch) {
+		Leaderboard snapshot = null;
+		Record[] appended = new Record[batch.size()];
+		int count = 0;
+
+		for (Change change : batch) {
+			if (change.difficulty != difficulty)
+				continue;
+			if (change.snapshot != null) {
+				snapshot = change.snapshot;
+				count = 0;
+			} else {
+				appended[count++] = change.record;
+			}
+		}
+
+		if (snapshot != null && !write(GameEvents.RecordsIo.SAVE, difficulty,
+				snapshot, null, 0))
+			return;
+		if (count > 0)
+			write(GameEvents.RecordsIo.APPEND, difficulty, null, appended,
+					count);
+	}
+
+	/**
+	 * Saves snapshot or appends games to the file.
+	 * 
+	 * @return boolean - TRUE if games have been written
+	 */
+	private boolean write(String operation, Difficulty difficulty,
+			Leaderboard snapshot, Record[] appended, int count) {
+		GameEvents.RecordsIo event = new GameEvents.RecordsIo();
+		event.begin();
+		long start = System.nanoTime();
+		boolean succeeded = false;
+		try {
+			if (snapshot != null) {
+				recordsFile.save(difficulty, snapshot);
+			} else {
+				recordsFile.append(difficulty, appended, count);
+			}
+			succeeded = true;
+		} catch (IOException e) {
+			System.out.println("***Error saving records***");
+		}
+		ioTime.addAndGet(System.nanoTime() - start);
+		event.commit(operation, difficulty, (snapshot != null) ? snapshot
+				.size() : count, succeeded);
+		return succeeded;
+	}
+
+	/**
+	 * New game or reset of all games of one difficulty.
+	 */
+	private static class Change {
+		final Difficulty difficulty;
+		final Record record;
+		final Leaderboard snapshot;
+
+		Change(Difficulty difficulty, Record record, Leaderboard snapshot) {
+			this.difficulty = difficulty;
+			this.record = record;
+			this.snapshot = snapshot;
+		}
+	}
+}
@@ -6,6 +6,8 @@ import java.awt.Dialog;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.swing.JButton;
 import javax.swing.JDialog;
@@ -18,6 +20,8 @@ import javax.swing.table.AbstractTableModel;
 /**
  * <code>RecordsView</code> is a dialog that displays a list of records in the table
  * for specified difficulty level and enables player to reset difficulty records.
+ * Table shows all finished games with their place, rows are taken from the
+ * <code>Leaderboard</code> in pages when they are displayed.
  *
  * <p>
  * Date : 25 Nov 2016
@@ -29,7 +33,11 @@ public class RecordsView extends JDialog implements ActionListener {
 
 	private static final long serialVersionUID = -5166168559317947157L;
 	
-	private Record[] records;
+	// Rows taken from leaderboard at once and number of pages kept
+	private static final int PAGE_SIZE = 100;
+	private static final int CACHED_PAGES = 8;
+
+	private Leaderboard records;
 	private RecordsPanel recordsPanel;
 	private ControlRequestsListener controlRequestsListener = null;
 
@@ -37,6 +45,19 @@ public class RecordsView extends JDialog implements ActionListener {
 	 * Constructor.
 	 */
 	public RecordsView(Component parent, ControlRequestsListener listener) {
+		this(parent, listener, -1);
+	}
+
+	/**
+	 * Constructor with the game at specified place selected.
+	 * 
+	 * @param parent
+	 * @param listener
+	 * @param place
+	 *            - place of the game counted from 0, or -1
+	 */
+	public RecordsView(Component parent, ControlRequestsListener listener,
+			int place) {
 		controlRequestsListener = listener;
 		
 		records = controlRequestsListener.getRecords();
@@ -44,6 +65,7 @@ public class RecordsView extends JDialog implements ActionListener {
 		recordsPanel = new RecordsPanel();
 
 		showUI(parent);
+		recordsPanel.selectPlace(place);
 	}
 
 	/**
@@ -130,6 +152,20 @@ public class RecordsView extends JDialog implements ActionListener {
 			add(new JScrollPane(table));
 		}
 
+		/**
+		 * Selects row of the game at specified place and scrolls to it.
+		 * 
+		 * @param place
+		 *            - place of the game counted from 0, or -1
+		 */
+		public void selectPlace(int place) {
+			if (place < 0 || place >= model.getRowCount())
+				return;
+
+			table.setRowSelectionInterval(place, place);
+			table.scrollRectToVisible(table.getCellRect(place, 0, true));
+		}
+
 		/**
 		 * This method is asking table model to update it's data.
 		 */
@@ -142,6 +178,21 @@ public class RecordsView extends JDialog implements ActionListener {
 			private static final long serialVersionUID = -7137172679652492427L;
 			
 			private String[] columnNames = { "Place", "Name", "Time" };
+			private Class<?>[] columnClasses = { Integer.class, String.class,
+					String.class };
+
+			// Pages of rows by their number, the least recently used is
+			// removed
+			private final Map<Integer, Record[]> pages = new LinkedHashMap<Integer, Record[]>(
+					16, 0.75f, true) {
+				private static final long serialVersionUID = 3591245407470131539L;
+
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<Integer, Record[]> eldest) {
+					return size() > CACHED_PAGES;
+				}
+			};
 
 			public RecordsTableModel() {
 				super();
@@ -154,7 +205,22 @@ public class RecordsView extends JDialog implements ActionListener {
 
 			@Override
 			public int getRowCount() {
-				return records.length;
+				return records.size();
+			}
+
+			/**
+			 * Returns game in specified row, taking its page from the
+			 * leaderboard if needed.
+			 */
+			private Record getRecord(int row) {
+				Integer page = row / PAGE_SIZE;
+				Record[] rows = pages.get(page);
+				if (rows == null) {
+					rows = new Record[PAGE_SIZE];
+					records.get(page * PAGE_SIZE, rows);
+					pages.put(page, rows);
+				}
+				return rows[row % PAGE_SIZE];
 			}
 
 			@Override
@@ -163,10 +229,9 @@ public class RecordsView extends JDialog implements ActionListener {
 				case 0:
 					return row + 1;
 				case 1:
-					return records[row].getName();
+					return getRecord(row).getName();
 				case 2:
-					long time = records[row].getTime();
-					return (time / 1000 / 60) + "min " + (time / 1000 % 60) + "s";
+					return Record.formatTime(getRecord(row).getTime());
 				default:
 					return null;
 				}
@@ -179,8 +244,7 @@ public class RecordsView extends JDialog implements ActionListener {
 
 			@Override
 			public Class<?> getColumnClass(int col) {
-				return (getValueAt(0, col) == null) ? String.class
-						: getValueAt(0, col).getClass();
+				return columnClasses[col];
 			}
 
 			@Override
@@ -189,6 +253,7 @@ public class RecordsView extends JDialog implements ActionListener {
 			}
 
 			public void refreshtRecords() {
+				pages.clear();
 				this.fireTableDataChanged();
 			}
 		}
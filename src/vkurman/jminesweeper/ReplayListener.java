@@ -0,0 +1,36 @@
+package vkurman.jminesweeper;
+
+/**
+ * <code>ReplayListener</code> interface to pass changes of the board made by
+ * replay playback to the mine field that renders it.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public interface ReplayListener {
+
+	/**
+	 * Replay has been moved to another position, whole board has to be
+	 * rendered again. Board is a new one if playback went back before mines
+	 * have been placed.
+	 *
+	 * @param board
+	 */
+	public void replayBoardChanged(Board board);
+
+	/**
+	 * Single move has been played on the cell at specified position.
+	 *
+	 * @param row
+	 * @param column
+	 * @param action
+	 *            - <code>ReplayRecorder.OPEN</code>, <code>FLAG</code> or
+	 *            <code>CHORD</code>
+	 * @param opened
+	 *            - number of cells opened by the move
+	 */
+	public void replayMoved(int row, int column, int action, int opened);
+}
@@ -0,0 +1,419 @@
+package vkurman.jminesweeper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * <code>ReplayPlayer</code> plays back a game recorded by
+ * <code>ReplayRecorder</code> on a <code>Board</code> model, move by move or
+ * jumping straight to any move.
+ *
+ * <p>
+ * Replay file may end with keyframes: opened and flagged marks of all cells,
+ * 2 bits per cell, compressed, saved every <code>getKeyframeInterval</code> moves. To get to a
+ * move the board is restored from the nearest keyframe before it and only the
+ * moves after the keyframe are played. Keyframes are followed by their index
+ * and a trailer of three ints: end of the moves, start of the index and
+ * <code>TRAILER</code>. Last byte of the trailer is never the last byte of a
+ * variable length number, so replays without keyframes end with a move.
+ *
+ * <p>
+ * Every number read from the replay is checked before it is used, and
+ * boards larger than <code>CustomBoardDialog</code> allows are refused, so a
+ * damaged replay fails with <code>IOException</code>.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class ReplayPlayer {
+
+	// "JMK" and a byte that can not end a variable length number
+	public static final int TRAILER = 0x4A4D4BFF;
+	public static final int TRAILER_SIZE = 12;
+	// Fewest moves between keyframes, more on big boards to keep them small
+	private static final int KEYFRAME_MOVES = 256;
+
+	private final int rows;
+	private final int columns;
+	private final int mines;
+	private final long seed;
+	// Cell index plus 1 opened at start, 0 if none
+	private final int startCell;
+
+	// Moves in order: cell index, action and nanoseconds since start
+	private final int[] cells;
+	private final byte[] actions;
+	private final long[] times;
+
+	// Move numbers of keyframes and their data in the replay
+	private final int[] keyframeMoves;
+	private final int[] keyframeOffsets;
+	private final ByteBuffer replay;
+
+	private Board board;
+	private int position;
+
+	/**
+	 * Constructor that reads specified replay file.
+	 *
+	 * @param file
+	 * @throws IOException
+	 *             - if file can not be read or is not a replay
+	 */
+	public ReplayPlayer(File file) throws IOException {
+		this(Files.readAllBytes(file.toPath()));
+	}
+
+	/**
+	 * Constructor for replay in specified array.
+	 *
+	 * @param bytes
+	 * @throws IOException
+	 *             - if bytes are not a replay
+	 */
+	public ReplayPlayer(byte[] bytes) throws IOException {
+		this(bytes, bytes.length);
+	}
+
+	/**
+	 * Constructor for replay in the first <code>length</code> bytes of
+	 * specified array.
+	 *
+	 * @param bytes
+	 * @param length
+	 * @throws IOException
+	 *             - if bytes are not a replay
+	 */
+	public ReplayPlayer(byte[] bytes, int length) throws IOException {
+		replay = ByteBuffer.wrap(bytes, 0, length);
+		try {
+			if (replay.getInt() != ReplayRecorder.MAGIC)
+				throw new IOException("Not a replay");
+			int version = (int) getVarint(replay);
+			if (version < 1 || version > ReplayRecorder.VERSION)
+				throw new IOException("Unknown replay version " + version);
+
+			long rows = getVarint(replay);
+			long columns = getVarint(replay);
+			long mines = getVarint(replay);
+			seed = replay.getLong();
+			long startCell = getVarint(replay);
+			if (rows <= 0 || columns <= 0
+					|| rows > CustomBoardDialog.MAX_ROWS
+					|| columns > CustomBoardDialog.MAX_COLUMNS)
+				throw new IOException("Damaged replay");
+			if (mines < 0 || mines >= rows * columns || startCell < 0
+					|| startCell > rows * columns)
+				throw new IOException("Damaged replay");
+			this.rows = (int) rows;
+			this.columns = (int) columns;
+			this.mines = (int) mines;
+			this.startCell = (int) startCell;
+
+			// Moves end where the keyframes start, if there are any
+			int movesEnd = length;
+			int indexOffset = -1;
+			if (length - replay.position() >= TRAILER_SIZE
+					&& replay.getInt(length - 4) == TRAILER) {
+				movesEnd = replay.getInt(length - TRAILER_SIZE);
+				indexOffset = replay.getInt(length - 8);
+				if (movesEnd < replay.position() || indexOffset < movesEnd
+						|| indexOffset > length - TRAILER_SIZE)
+					throw new IOException("Damaged replay");
+			}
+
+			ByteBuffer moves = replay.duplicate();
+			moves.limit(movesEnd);
+			int count = 0;
+			int[] cells = new int[64];
+			byte[] actions = new byte[64];
+			long[] times = new long[64];
+			int index = 0;
+			long time = 0;
+			while (moves.hasRemaining()) {
+				if (count == cells.length) {
+					cells = Arrays.copyOf(cells, count * 2);
+					actions = Arrays.copyOf(actions, count * 2);
+					times = Arrays.copyOf(times, count * 2);
+				}
+				long move = getVarint(moves);
+				long zigzag = move >>> 2;
+				index += (int) ((zigzag >>> 1) ^ -(zigzag & 1));
+				time += getVarint(moves);
+				if (index < 0 || index >= rows * columns)
+					throw new IOException("Damaged replay");
+
+				cells[count] = index;
+				actions[count] = (byte) (move & 3);
+				times[count] = time;
+				count++;
+			}
+			this.cells = Arrays.copyOf(cells, count);
+			this.actions = Arrays.copyOf(actions, count);
+			this.times = Arrays.copyOf(times, count);
+
+			if (indexOffset < 0) {
+				keyframeMoves = new int[0];
+				keyframeOffsets = new int[0];
+			} else {
+				ByteBuffer table = replay.duplicate();
+				table.limit(length - TRAILER_SIZE).position(indexOffset);
+				// Every keyframe takes at least two bytes of the index
+				long keyframes = getVarint(table);
+				if (keyframes < 0 || keyframes > table.remaining() / 2)
+					throw new IOException("Damaged replay");
+				keyframeMoves = new int[(int) keyframes];
+				keyframeOffsets = new int[(int) keyframes];
+				for (int i = 0; i < keyframes; i++) {
+					long keyframeMove = getVarint(table);
+					long keyframeOffset = getVarint(table);
+					if (keyframeMove < 0 || keyframeOffset < 0
+							|| keyframeMove > count
+							|| (i > 0 && keyframeMove <= keyframeMoves[i - 1])
+							|| keyframeOffset >= indexOffset - movesEnd)
+						throw new IOException("Damaged replay");
+					keyframeMoves[i] = (int) keyframeMove;
+					keyframeOffsets[i] = movesEnd + (int) keyframeOffset;
+				}
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Damaged replay");
+		}
+
+		reset();
+	}
+
+	/**
+	 * Returns number of moves between keyframes for board with specified
+	 * number of cells.
+	 *
+	 * @param cells
+	 * @return int
+	 */
+	public static int getKeyframeInterval(int cells) {
+		return Math.max(KEYFRAME_MOVES, cells / 256);
+	}
+
+	/**
+	 * Reads unsigned number written by 7 bits, highest bit of every byte tells
+	 * if more bytes follow.
+	 *
+	 * @param buffer
+	 * @return long
+	 * @throws IOException
+	 *             - if number is too long
+	 */
+	static long getVarint(ByteBuffer buffer) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return value;
+		}
+		throw new IOException("Damaged replay");
+	}
+
+	/**
+	 * Returns board the game is played on. Board is replaced by a new one
+	 * when playing goes back before mines have been placed.
+	 *
+	 * @return Board
+	 */
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * Returns number of moves in the replay.
+	 *
+	 * @return int
+	 */
+	public int getMoves() {
+		return cells.length;
+	}
+
+	/**
+	 * Returns number of moves played on the board.
+	 *
+	 * @return int
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns number of keyframes in the replay.
+	 *
+	 * @return int
+	 */
+	public int getKeyframes() {
+		return keyframeMoves.length;
+	}
+
+	/**
+	 * Returns nanoseconds from start of the game until specified number of
+	 * moves have been made.
+	 *
+	 * @param moves
+	 * @return long
+	 */
+	public long getTime(int moves) {
+		return (moves == 0) ? 0 : times[moves - 1];
+	}
+
+	/**
+	 * Returns row of the cell of specified move, counted from 0.
+	 *
+	 * @param move
+	 * @return int
+	 */
+	public int getRow(int move) {
+		return cells[move] / columns;
+	}
+
+	/**
+	 * Returns column of the cell of specified move, counted from 0.
+	 *
+	 * @param move
+	 * @return int
+	 */
+	public int getColumn(int move) {
+		return cells[move] % columns;
+	}
+
+	/**
+	 * Returns action of specified move: <code>ReplayRecorder.OPEN</code>,
+	 * <code>FLAG</code> or <code>CHORD</code>.
+	 *
+	 * @param move
+	 * @return int
+	 */
+	public int getAction(int move) {
+		return actions[move];
+	}
+
+	/**
+	 * Plays the next move. Cells it has opened can be retrieved with
+	 * <code>getBoard().getOpenedCells()</code>.
+	 *
+	 * @return int - number of opened cells
+	 */
+	public int step() {
+		if (position == cells.length)
+			return 0;
+
+		int row = getRow(position);
+		int column = getColumn(position);
+		int action = actions[position++];
+		if (action == ReplayRecorder.OPEN)
+			return board.open(row, column);
+		if (action == ReplayRecorder.CHORD)
+			return board.chord(row, column);
+		board.flag(row, column);
+		return 0;
+	}
+
+	/**
+	 * Brings the board to the state after specified number of moves. Board
+	 * is restored from the nearest keyframe before the move, unless the
+	 * move is just ahead.
+	 *
+	 * @param moves
+	 * @throws IOException
+	 *             - if keyframe is damaged
+	 */
+	public void seek(int moves) throws IOException {
+		if (moves < 0 || moves > cells.length)
+			throw new IndexOutOfBoundsException("Move: " + moves + ", moves: "
+					+ cells.length);
+
+		int keyframe = keyframeMoves.length - 1;
+		while (keyframe >= 0 && keyframeMoves[keyframe] > moves) {
+			keyframe--;
+		}
+		int from = (keyframe < 0) ? 0 : keyframeMoves[keyframe];
+
+		if (moves < position || from > position) {
+			if (keyframe < 0) {
+				reset();
+			} else {
+				restore(keyframe);
+			}
+		}
+		while (position < moves) {
+			step();
+		}
+	}
+
+	/**
+	 * Brings the board to the start of the game.
+	 */
+	private void reset() {
+		board = new Board(rows, columns, mines, seed);
+		if (startCell > 0) {
+			board.placeMines((startCell - 1) / columns, (startCell - 1)
+					% columns);
+			board.open((startCell - 1) / columns, (startCell - 1) % columns);
+		}
+		position = 0;
+	}
+
+	/**
+	 * Restores board from keyframe: first cell of the board plus 1, or 0 if
+	 * mines have not been placed yet, and compressed marks of all cells.
+	 */
+	private void restore(int keyframe) throws IOException {
+		ByteBuffer data = replay.duplicate();
+		data.position(keyframeOffsets[keyframe]);
+		long firstCell;
+		long length;
+		try {
+			firstCell = getVarint(data);
+			length = getVarint(data);
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Damaged keyframe");
+		}
+		if (firstCell < 0 || firstCell > (long) rows * columns || length < 0
+				|| length > data.remaining())
+			throw new IOException("Damaged keyframe");
+		// Keyframe can not move the first cell of the board
+		if (firstCell > 0 && board.isMinesPlaced()
+				&& firstCell - 1 != board.getFirstRow() * columns
+						+ board.getFirstColumn())
+			throw new IOException("Damaged keyframe");
+
+		byte[] packed = new byte[Board
+				.getPackedMarksLength(rows * columns)];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data.array(), data.arrayOffset() + data.position(),
+					(int) length);
+			if (inflater.inflate(packed) != packed.length)
+				throw new IOException("Damaged keyframe");
+		} catch (DataFormatException e) {
+			throw new IOException("Damaged keyframe");
+		} finally {
+			inflater.end();
+		}
+
+		// Mines of the board depend only on the first cell, which is the same
+		// for the whole game
+		if (firstCell == 0 && board.isMinesPlaced())
+			board = new Board(rows, columns, mines, seed);
+		if (firstCell > 0 && !board.isMinesPlaced())
+			board.placeMines((int) (firstCell - 1) / columns,
+					(int) (firstCell - 1) % columns);
+		board.setPackedMarks(packed);
+		position = keyframeMoves[keyframe];
+	}
+}
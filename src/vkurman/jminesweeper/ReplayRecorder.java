@@ -0,0 +1,392 @@
+package vkurman.jminesweeper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * <code>ReplayRecorder</code> records every move of the game, so that the game
+ * can be played back later. Replay of every game with at least one move is
+ * written to its own file in <code>replays</code> directory, named after the
+ * time the game started. Existing file is never overwritten: games started
+ * within the same millisecond get a number after the time.
+ *
+ * <p>
+ * Replay starts with header: <code>MAGIC</code>, version, rows, columns and
+ * mines of the board, seed of the board and the cell opened when the game
+ * started, for boards which have mines placed already. Every move follows as
+ * two variable length numbers: difference between this and previous cell
+ * index together with action, and nanoseconds since the previous move. Most
+ * moves take 4 to 6 bytes.
+ *
+ * <p>
+ * Moves are added to a byte array in memory. When the game ends the array is
+ * passed to a background thread which writes the file, so that recording
+ * never waits for the disk. Background thread plays the game once more and
+ * appends keyframes used by <code>ReplayPlayer</code> to jump to any move.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class ReplayRecorder {
+
+	public static final String extension = ".jmr";
+	// "JMRP", start of every replay
+	public static final int MAGIC = 0x4A4D5250;
+	public static final int VERSION = 2;
+
+	// Actions of the moves, kept in the lowest two bits
+	public static final int OPEN = 0;
+	public static final int FLAG = 1;
+	public static final int CHORD = 2;
+	// Numbers tried after the time before giving up on a replay
+	private static final int MAX_FILE_NUMBER = 1000;
+
+	private final File directory;
+	private final SimpleDateFormat fileNameFormat = new SimpleDateFormat(
+			"yyyyMMdd-HHmmss-SSS");
+
+	// Replay of the current game
+	private byte[] buffer = new byte[256];
+	private int length;
+	private int moves;
+	private int columns;
+	private int lastIndex;
+	private long lastTime;
+	private String fileName;
+
+	private final LinkedBlockingQueue<Replay> pending = new LinkedBlockingQueue<Replay>();
+	// Numbers of replays queued and written, guarded by this
+	private long queued;
+	private long written;
+	private long writtenBytes;
+
+	/**
+	 * Constructor for replays kept in <code>replays</code> directory in the
+	 * working directory.
+	 */
+	public ReplayRecorder() {
+		this(new File("replays"));
+	}
+
+	/**
+	 * Constructor for replays kept in specified directory. Directory is
+	 * created when the first replay is written.
+	 *
+	 * @param directory
+	 */
+	public ReplayRecorder(File directory) {
+		this.directory = directory;
+
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				write();
+			}
+		}, "ReplayRecorder");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Returns directory of replays.
+	 *
+	 * @return File
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Starts recording of the game on specified board. Replay of the previous
+	 * game is finished if it has not been yet.
+	 *
+	 * @param board
+	 */
+	public synchronized void start(Board board) {
+		finish();
+
+		columns = board.getColumns();
+		lastIndex = 0;
+		lastTime = System.nanoTime();
+		fileName = fileNameFormat.format(new Date());
+
+		putInt(MAGIC);
+		putVarint(VERSION);
+		putVarint(board.getRows());
+		putVarint(board.getColumns());
+		putVarint(board.getMines());
+		putLong(board.getSeed());
+		// Cell index plus 1, 0 if no cell is opened at start
+		putVarint(board.isMinesPlaced() ? board.getFirstRow() * columns
+				+ board.getFirstColumn() + 1 : 0);
+	}
+
+	/**
+	 * Records move on the cell at specified position.
+	 *
+	 * @param row
+	 * @param column
+	 * @param action
+	 *            - <code>OPEN</code>, <code>FLAG</code> or <code>CHORD</code>
+	 */
+	public synchronized void record(int row, int column, int action) {
+		if (fileName == null)
+			return;
+
+		long now = System.nanoTime();
+		int index = row * columns + column;
+		int delta = index - lastIndex;
+		// Zigzag encoding keeps small negative differences short
+		putVarint(((long) ((delta << 1) ^ (delta >> 31)) & 0xFFFFFFFFL) << 2
+				| action);
+		putVarint(now - lastTime);
+
+		lastIndex = index;
+		lastTime = now;
+		moves++;
+	}
+
+	/**
+	 * Finishes replay of the current game and queues it for writing. Games
+	 * without moves are not written.
+	 */
+	public synchronized void finish() {
+		if (fileName != null && moves > 0) {
+			queued++;
+			pending.add(new Replay(fileName, buffer, length));
+			buffer = new byte[256];
+		}
+		length = 0;
+		moves = 0;
+		fileName = null;
+	}
+
+	/**
+	 * Finishes replay of the current game and waits until all replays are
+	 * written, or until timeout expires.
+	 *
+	 * @param timeout
+	 *            - milliseconds
+	 * @return boolean - TRUE if all replays are written
+	 * @throws InterruptedException
+	 */
+	public synchronized boolean flush(long timeout)
+			throws InterruptedException {
+		finish();
+
+		long end = System.currentTimeMillis() + timeout;
+		while (written < queued) {
+			long left = end - System.currentTimeMillis();
+			if (left <= 0)
+				return false;
+			wait(left);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns number of replays written since start.
+	 *
+	 * @return long
+	 */
+	public synchronized long getReplays() {
+		return written;
+	}
+
+	/**
+	 * Returns number of bytes of all replays written since start.
+	 *
+	 * @return long
+	 */
+	public synchronized long getBytes() {
+		return writtenBytes;
+	}
+
+	private void putInt(int value) {
+		putLong(value & 0xFFFFFFFFL, 4);
+	}
+
+	private void putLong(long value) {
+		putLong(value, 8);
+	}
+
+	private void putLong(long value, int bytes) {
+		ensureCapacity(bytes);
+		for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+			buffer[length++] = (byte) (value >>> shift);
+		}
+	}
+
+	/**
+	 * Puts unsigned number by 7 bits, highest bit of every byte tells if more
+	 * bytes follow.
+	 */
+	private void putVarint(long value) {
+		ensureCapacity(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[length++] = (byte) value;
+	}
+
+	private void ensureCapacity(int bytes) {
+		if (length + bytes > buffer.length) {
+			byte[] bigger = new byte[Math.max(buffer.length * 2, length + bytes)];
+			System.arraycopy(buffer, 0, bigger, 0, length);
+			buffer = bigger;
+		}
+	}
+
+	/**
+	 * Loop of background thread: writes queued replays.
+	 */
+	private void write() {
+		while (true) {
+			Replay replay;
+			try {
+				replay = pending.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			byte[] keyframes;
+			try {
+				keyframes = getKeyframes(replay);
+			} catch (IOException e) {
+				// Replay can still be played from the start
+				keyframes = new byte[0];
+			}
+
+			try {
+				if (!directory.isDirectory() && !directory.mkdirs())
+					throw new IOException("Can not create "
+							+ directory.getPath());
+				OutputStream out = create(replay.name);
+				try {
+					out.write(replay.bytes, 0, replay.length);
+					out.write(keyframes);
+				} finally {
+					out.close();
+				}
+			} catch (IOException e) {
+				System.out.println("***Error saving replay***");
+			}
+
+			synchronized (this) {
+				written++;
+				writtenBytes += replay.length + keyframes.length;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Creates new file of replay with specified name. Number is added to the
+	 * name if the file exists already.
+	 */
+	private OutputStream create(String name) throws IOException {
+		for (int number = 0; number < MAX_FILE_NUMBER; number++) {
+			String numbered = (number == 0) ? name : name + "-" + number;
+			File file = new File(directory, numbered + extension);
+			try {
+				return Files.newOutputStream(file.toPath(),
+						StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			} catch (FileAlreadyExistsException e) {
+				// Next number is tried
+			}
+		}
+		throw new IOException("Can not create replay " + name);
+	}
+
+	/**
+	 * Plays the replay and returns keyframes taken every
+	 * <code>ReplayPlayer.getKeyframeInterval</code> moves, followed by their
+	 * index and trailer. Every keyframe is the first cell of the board plus
+	 * 1, or 0 if mines have not been placed yet, and length and packed marks
+	 * of all cells compressed with <code>Deflater</code>.
+	 */
+	private byte[] getKeyframes(Replay replay) throws IOException {
+		ReplayPlayer player = new ReplayPlayer(replay.bytes, replay.length);
+		Board board = player.getBoard();
+		int columns = board.getColumns();
+		int interval = ReplayPlayer.getKeyframeInterval(board.getRows()
+				* columns);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int count = player.getMoves() / interval;
+		int[] offsets = new int[count];
+		byte[] chunk = new byte[8192];
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		Deflater deflater = new Deflater();
+		try {
+			for (int i = 0; i < count; i++) {
+				player.seek((i + 1) * interval);
+				board = player.getBoard();
+				offsets[i] = out.size();
+				putVarint(out, board.isMinesPlaced() ? board.getFirstRow()
+						* columns + board.getFirstColumn() + 1 : 0);
+
+				deflater.reset();
+				deflater.setInput(board.getPackedMarks());
+				deflater.finish();
+				compressed.reset();
+				while (!deflater.finished()) {
+					compressed.write(chunk, 0, deflater.deflate(chunk));
+				}
+				putVarint(out, compressed.size());
+				compressed.writeTo(out);
+			}
+		} finally {
+			deflater.end();
+		}
+
+		int index = replay.length + out.size();
+		putVarint(out, count);
+		for (int i = 0; i < count; i++) {
+			putVarint(out, (i + 1) * interval);
+			putVarint(out, offsets[i]);
+		}
+		DataOutputStream trailer = new DataOutputStream(out);
+		trailer.writeInt(replay.length);
+		trailer.writeInt(index);
+		trailer.writeInt(ReplayPlayer.TRAILER);
+		return out.toByteArray();
+	}
+
+	private static void putVarint(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	/**
+	 * Finished replay waiting to be written.
+	 */
+	private static class Replay {
+		final String name;
+		final byte[] bytes;
+		final int length;
+
+		Replay(String name, byte[] bytes, int length) {
+			this.name = name;
+			this.bytes = bytes;
+			this.length = length;
+		}
+	}
+}
@@ -0,0 +1,238 @@
+package vkurman.jminesweeper;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JSlider;
+import javax.swing.Timer;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+/**
+ * <code>ReplayView</code> is a dialog that plays back recorded game on the
+ * board rendered by the main window. Game can be played at the speed it has
+ * been played, 10 times faster or as fast as possible, and slider jumps to
+ * any move.
+ *
+ * <p>
+ * Moves are played by Swing timer on the event thread. On every tick all
+ * moves up to the time reached are played, at maximum speed moves are played
+ * until the tick takes <code>MAX_SPEED_TICK</code>.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class ReplayView extends JDialog implements ActionListener {
+
+	private static final long serialVersionUID = 4817733604829951726L;
+
+	// Milliseconds between ticks of playback
+	private static final int TICK = 15;
+	// Nanoseconds of playing moves in one tick at maximum speed
+	private static final long MAX_SPEED_TICK = 10000000L;
+	// Speed for playing as fast as possible
+	private static final int MAX_SPEED = 0;
+
+	private final ReplayPlayer player;
+	private final ReplayListener replayListener;
+	private final Timer timer;
+
+	private JSlider slider;
+	private JLabel lblPosition;
+	// Slider is moved by playback, not by user
+	private boolean updating;
+
+	private int speed;
+	// Time of the game and of the clock when playback started
+	private long startTime;
+	private long startNanos;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param parent
+	 * @param player
+	 * @param listener
+	 */
+	public ReplayView(Component parent, ReplayPlayer player,
+			ReplayListener listener) {
+		this.player = player;
+		this.replayListener = listener;
+
+		timer = new Timer(TICK, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				tick();
+			}
+		});
+
+		showUI(parent);
+	}
+
+	/**
+	 * Creates and displays UI.
+	 */
+	private void showUI(Component parent) {
+		setTitle("Replay");
+		setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+		slider = new JSlider(0, player.getMoves(), player.getPosition());
+		slider.addChangeListener(new ChangeListener() {
+			@Override
+			public void stateChanged(ChangeEvent e) {
+				if (!updating)
+					seek(slider.getValue());
+			}
+		});
+		lblPosition = new JLabel();
+
+		JPanel positionPane = new JPanel(new BorderLayout(5, 5));
+		positionPane.setBorder(new EmptyBorder(5, 5, 0, 5));
+		positionPane.add(slider, BorderLayout.CENTER);
+		positionPane.add(lblPosition, BorderLayout.PAGE_END);
+
+		setLayout(new BorderLayout(5, 5));
+		getContentPane().add(positionPane, BorderLayout.CENTER);
+		getContentPane().add(getButtonPanel(), BorderLayout.PAGE_END);
+		updatePosition();
+
+		pack();
+		setLocationRelativeTo(parent);
+	}
+
+	/**
+	 * Creates and returns panel with buttons of playback speed.
+	 *
+	 * @return JPanel
+	 */
+	private JPanel getButtonPanel() {
+		JPanel buttonPane = new JPanel();
+		buttonPane.setLayout(new FlowLayout(FlowLayout.RIGHT));
+
+		String[] commands = { "1x", "10x", "Max", "Pause", "Close" };
+		for (String command : commands) {
+			JButton button = new JButton(command);
+			button.setActionCommand(command);
+			button.addActionListener(this);
+			buttonPane.add(button);
+		}
+		return buttonPane;
+	}
+
+	@Override
+	public void actionPerformed(ActionEvent ev) {
+		String ac = ev.getActionCommand();
+		if (ac.equals("1x")) {
+			play(1);
+		} else if (ac.equals("10x")) {
+			play(10);
+		} else if (ac.equals("Max")) {
+			play(MAX_SPEED);
+		} else if (ac.equals("Pause")) {
+			timer.stop();
+		} else if (ac.equals("Close")) {
+			dispose();
+		}
+	}
+
+	@Override
+	public void dispose() {
+		timer.stop();
+		super.dispose();
+	}
+
+	/**
+	 * Starts playback at specified speed from the current move, or from the
+	 * start if all moves have been played.
+	 *
+	 * @param speed
+	 *            - times faster than the game, or <code>MAX_SPEED</code>
+	 */
+	private void play(int speed) {
+		if (player.getPosition() == player.getMoves())
+			seek(0);
+
+		this.speed = speed;
+		startTime = player.getTime(player.getPosition());
+		startNanos = System.nanoTime();
+		timer.start();
+	}
+
+	/**
+	 * Plays moves due since the last tick.
+	 */
+	private void tick() {
+		long now = System.nanoTime();
+		if (speed == MAX_SPEED) {
+			long end = now + MAX_SPEED_TICK;
+			while (player.getPosition() < player.getMoves()
+					&& System.nanoTime() < end) {
+				step();
+			}
+		} else {
+			long time = startTime + (now - startNanos) * speed;
+			while (player.getPosition() < player.getMoves()
+					&& player.getTime(player.getPosition() + 1) <= time) {
+				step();
+			}
+		}
+
+		if (player.getPosition() == player.getMoves())
+			timer.stop();
+		updatePosition();
+	}
+
+	private void step() {
+		int move = player.getPosition();
+		int opened = player.step();
+		replayListener.replayMoved(player.getRow(move),
+				player.getColumn(move), player.getAction(move), opened);
+	}
+
+	/**
+	 * Brings the board to the state after specified number of moves.
+	 */
+	private void seek(int moves) {
+		try {
+			player.seek(moves);
+		} catch (IOException e) {
+			timer.stop();
+			JOptionPane.showMessageDialog(this, e.getMessage(), "Replay",
+					JOptionPane.ERROR_MESSAGE);
+		}
+		if (timer.isRunning()) {
+			startTime = player.getTime(player.getPosition());
+			startNanos = System.nanoTime();
+		}
+		replayListener.replayBoardChanged(player.getBoard());
+		updatePosition();
+	}
+
+	/**
+	 * Shows the current move on the slider and label.
+	 */
+	private void updatePosition() {
+		updating = true;
+		slider.setValue(player.getPosition());
+		updating = false;
+
+		long millis = player.getTime(player.getPosition()) / 1000000L;
+		lblPosition.setText(String.format("Move %d of %d, %02d:%02d.%d",
+				player.getPosition(), player.getMoves(), millis / 60000,
+				millis / 1000 % 60, millis / 100 % 10));
+	}
+}
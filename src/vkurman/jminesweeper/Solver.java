@@ -0,0 +1,473 @@
+package vkurman.jminesweeper;
+
+import java.util.Arrays;
+
+/**
+ * <code>Solver</code> finds cells that are proven to be safe or to have mine,
+ * using only what player can see on the <code>Board</code>: numbers of opened
+ * cells and flags. Flags are trusted to be mines.
+ *
+ * <p>
+ * Every opened numbered cell with covered neighbours is a constraint: the
+ * number of mines among its unknown neighbours. Two rules are applied:
+ * <ul>
+ * <li>single cell rule - if no mines are left around the cell all unknown
+ * neighbours are safe, if number of unknown neighbours equals to mines left
+ * they all have mines;</li>
+ * <li>subset and difference rule - for two constraints sharing cells, if
+ * mines left in the first one minus mines left in the second one equals to
+ * the number of cells only the first one has, than those cells have mines and
+ * cells only the second one has are safe.</li>
+ * </ul>
+ * Finally mines left on the board are compared with unknown cells left.
+ *
+ * <p>
+ * Constraints are kept between calls. Only constraints around cells that
+ * have been opened or proven since last call are checked again, so the
+ * solver is updated with cells opened by <code>Board</code> instead of
+ * reading the whole board.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class Solver {
+
+	private static final byte UNKNOWN = 0;
+	private static final byte SAFE = 1;
+	private static final byte MINE = 2;
+	private static final byte OPENED = 3;
+
+	private final Board board;
+	private final int rows;
+	private final int columns;
+	private final byte[] state;
+
+	// Constraints to check again, each cell is queued once
+	private final int[] queue;
+	private final boolean[] queued;
+	private int queueHead, queueTail;
+
+	private int unknownCells;
+	private int knownMines;
+
+	// Cells proven by the last call to solve()
+	private int[] safeCells = new int[16];
+	private int[] mineCells = new int[16];
+	private int safeCount, mineCount;
+
+	// Buffers of unknown neighbours used by rules
+	private final int[] unknownA = new int[8];
+	private final int[] unknownB = new int[8];
+	private final int[] candidates = new int[24];
+
+	/**
+	 * Constructor. Opened cells and flags currently on the board are read
+	 * once.
+	 *
+	 * @param board
+	 */
+	public Solver(Board board) {
+		this.board = board;
+		this.rows = board.getRows();
+		this.columns = board.getColumns();
+		this.state = new byte[rows * columns];
+		this.queue = new int[state.length];
+		this.queued = new boolean[state.length];
+		this.unknownCells = state.length;
+
+		for (int index = 0; index < state.length; index++) {
+			int row = index / columns, column = index % columns;
+			if (board.isOpened(row, column)) {
+				cellOpened(index);
+			} else if (board.isFlagged(row, column)) {
+				prove(index, MINE, false);
+			}
+		}
+	}
+
+	/**
+	 * Updates constraints with cells opened on the board, for example the
+	 * batch returned by <code>Board.getOpenedCells()</code>.
+	 *
+	 * @param cells
+	 *            - indexes <code>row * columns + column</code>
+	 * @param count
+	 *            - number of valid elements in array
+	 */
+	public void cellsOpened(int[] cells, int count) {
+		for (int i = 0; i < count; i++) {
+			cellOpened(cells[i]);
+		}
+	}
+
+	/**
+	 * Updates constraints after flag has been put on or removed from the cell.
+	 * Cells proven earlier with help of removed flag stay proven.
+	 *
+	 * @param row
+	 * @param column
+	 */
+	public void flagChanged(int row, int column) {
+		int index = row * columns + column;
+		if (board.isFlagged(row, column)) {
+			if (state[index] == UNKNOWN)
+				prove(index, MINE, false);
+		} else if (state[index] == MINE) {
+			state[index] = UNKNOWN;
+			unknownCells++;
+			knownMines--;
+			queueNeighbours(index);
+		}
+	}
+
+	/**
+	 * Applies rules to constraints changed since last call until nothing new
+	 * can be proven. Proven cells are returned by <code>getSafeCells()</code>
+	 * and <code>getMineCells()</code>.
+	 *
+	 * @return int - number of cells proven by this call
+	 */
+	public int solve() {
+		safeCount = 0;
+		mineCount = 0;
+
+		while (true) {
+			while (queueHead != queueTail) {
+				int index = queue[queueHead];
+				queueHead = (queueHead + 1) % queue.length;
+				queued[index] = false;
+
+				if (!applySingleRule(index))
+					applyDifferenceRule(index);
+			}
+
+			if (!applyMineCountRule())
+				break;
+		}
+		return safeCount + mineCount;
+	}
+
+	/**
+	 * Opens proven safe cells on the board and solves again until nothing can
+	 * be proven. Returns TRUE if all safe cells of the board have been opened
+	 * without guessing.
+	 *
+	 * @return boolean
+	 */
+	public boolean play() {
+		while (solve() > 0 && !board.isLost()) {
+			for (int i = 0; i < safeCount; i++) {
+				int index = safeCells[i];
+				int count = board.open(index / columns, index % columns);
+				cellsOpened(board.getOpenedCells(), count);
+			}
+		}
+		return !board.isLost() && board.getCoveredSafeCells() == 0;
+	}
+
+	/**
+	 * Returns cells proven to be safe by the last call to
+	 * <code>solve()</code> as indexes <code>row * columns + column</code>. Only
+	 * <code>getSafeCount()</code> elements are valid.
+	 *
+	 * @return int[]
+	 */
+	public int[] getSafeCells() {
+		return safeCells;
+	}
+
+	public int getSafeCount() {
+		return safeCount;
+	}
+
+	/**
+	 * Returns cells proven to have mine by the last call to
+	 * <code>solve()</code> as indexes <code>row * columns + column</code>. Only
+	 * <code>getMineCount()</code> elements are valid.
+	 *
+	 * @return int[]
+	 */
+	public int[] getMineCells() {
+		return mineCells;
+	}
+
+	public int getMineCount() {
+		return mineCount;
+	}
+
+	/**
+	 * Returns TRUE if cell is proven to be safe and is not opened yet.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean
+	 */
+	public boolean isSafe(int row, int column) {
+		return state[row * columns + column] == SAFE;
+	}
+
+	/**
+	 * Returns TRUE if cell is flagged or proven to have mine.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean
+	 */
+	public boolean isMine(int row, int column) {
+		return state[row * columns + column] == MINE;
+	}
+
+	/**
+	 * Returns TRUE if cell is neither opened nor proven.
+	 *
+	 * @param row
+	 * @param column
+	 * @return boolean
+	 */
+	public boolean isUnknown(int row, int column) {
+		return state[row * columns + column] == UNKNOWN;
+	}
+
+	/**
+	 * Returns number of cells that are neither opened nor proven.
+	 *
+	 * @return int
+	 */
+	public int getUnknownCells() {
+		return unknownCells;
+	}
+
+	/**
+	 * Returns number of flagged and proven mines.
+	 *
+	 * @return int
+	 */
+	public int getKnownMines() {
+		return knownMines;
+	}
+
+	private void cellOpened(int index) {
+		if (state[index] == OPENED)
+			return;
+		if (state[index] == UNKNOWN)
+			unknownCells--;
+		else if (state[index] == MINE)
+			knownMines--;
+		state[index] = OPENED;
+
+		queue(index);
+		queueNeighbours(index);
+	}
+
+	/**
+	 * Marks cell as safe or mine. Proven cells are added to the result of
+	 * <code>solve()</code>.
+	 */
+	private void prove(int index, byte value, boolean result) {
+		state[index] = value;
+		unknownCells--;
+
+		if (value == MINE) {
+			knownMines++;
+			if (result) {
+				if (mineCount == mineCells.length)
+					mineCells = Arrays.copyOf(mineCells, mineCount * 2);
+				mineCells[mineCount++] = index;
+			}
+		} else if (result) {
+			if (safeCount == safeCells.length)
+				safeCells = Arrays.copyOf(safeCells, safeCount * 2);
+			safeCells[safeCount++] = index;
+		}
+
+		queueNeighbours(index);
+	}
+
+	private void queue(int index) {
+		if (queued[index] || state[index] != OPENED
+				|| getNumber(index) == 0)
+			return;
+
+		queued[index] = true;
+		queue[queueTail] = index;
+		queueTail = (queueTail + 1) % queue.length;
+	}
+
+	private void queueNeighbours(int index) {
+		int row = index / columns, column = index % columns;
+		int rowTo = Math.min(row + 1, rows - 1);
+		int columnFrom = Math.max(column - 1, 0);
+		int columnTo = Math.min(column + 1, columns - 1);
+
+		for (int r = Math.max(row - 1, 0); r <= rowTo; r++) {
+			for (int c = columnFrom; c <= columnTo; c++) {
+				queue(r * columns + c);
+			}
+		}
+	}
+
+	private int getNumber(int index) {
+		return board.getAdjacentMines(index / columns, index % columns);
+	}
+
+	/**
+	 * Collects unknown neighbours of the constraint into buffer and returns
+	 * number of mines left among them. Number of unknown neighbours is
+	 * returned in the last bits of the result.
+	 */
+	private int collectUnknown(int index, int[] buffer) {
+		int row = index / columns, column = index % columns;
+		int rowTo = Math.min(row + 1, rows - 1);
+		int columnFrom = Math.max(column - 1, 0);
+		int columnTo = Math.min(column + 1, columns - 1);
+
+		int count = 0, mines = 0;
+		for (int r = Math.max(row - 1, 0); r <= rowTo; r++) {
+			for (int c = columnFrom; c <= columnTo; c++) {
+				int i = r * columns + c;
+				if (state[i] == UNKNOWN)
+					buffer[count++] = i;
+				else if (state[i] == MINE)
+					mines++;
+			}
+		}
+		return ((getNumber(index) - mines) << 4) | count;
+	}
+
+	/**
+	 * Single cell rule.
+	 *
+	 * @return boolean - TRUE if cells have been proven
+	 */
+	private boolean applySingleRule(int index) {
+		int collected = collectUnknown(index, unknownA);
+		int count = collected & 0x0F;
+		int left = collected >> 4;
+
+		if (count == 0)
+			return false;
+
+		if (left == 0) {
+			for (int i = 0; i < count; i++)
+				prove(unknownA[i], SAFE, true);
+			return true;
+		}
+		if (left == count) {
+			for (int i = 0; i < count; i++)
+				prove(unknownA[i], MINE, true);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Subset and difference rule applied to the constraint and every other
+	 * constraint sharing unknown cells with it.
+	 */
+	private void applyDifferenceRule(int index) {
+		int collected = collectUnknown(index, unknownA);
+		int countA = collected & 0x0F;
+		int leftA = collected >> 4;
+		if (countA == 0)
+			return;
+
+		// Constraints sharing unknown cells are opened neighbours of them
+		int found = 0;
+		for (int i = 0; i < countA; i++) {
+			int row = unknownA[i] / columns, column = unknownA[i] % columns;
+			int rowTo = Math.min(row + 1, rows - 1);
+			int columnFrom = Math.max(column - 1, 0);
+			int columnTo = Math.min(column + 1, columns - 1);
+
+			for (int r = Math.max(row - 1, 0); r <= rowTo; r++) {
+				for (int c = columnFrom; c <= columnTo; c++) {
+					int other = r * columns + c;
+					if (other != index && state[other] == OPENED
+							&& !contains(candidates, found, other))
+						candidates[found++] = other;
+				}
+			}
+		}
+
+		for (int k = 0; k < found; k++) {
+			int other = candidates[k];
+			int collectedB = collectUnknown(other, unknownB);
+			int countB = collectedB & 0x0F;
+			int leftB = collectedB >> 4;
+			if (countB == 0)
+				continue;
+
+			int onlyA = 0, onlyB = 0;
+			for (int i = 0; i < countA; i++) {
+				if (!contains(unknownB, countB, unknownA[i]))
+					onlyA++;
+			}
+			for (int i = 0; i < countB; i++) {
+				if (!contains(unknownA, countA, unknownB[i]))
+					onlyB++;
+			}
+
+			if (leftA - leftB == onlyA && onlyA + onlyB > 0) {
+				proveDifference(unknownA, countA, unknownB, countB);
+				return;
+			}
+			if (leftB - leftA == onlyB && onlyA + onlyB > 0) {
+				proveDifference(unknownB, countB, unknownA, countA);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Cells only in the first set have mines, cells only in the second set are
+	 * safe.
+	 */
+	private void proveDifference(int[] mines, int minesCount, int[] safe,
+			int safeCount) {
+		for (int i = 0; i < minesCount; i++) {
+			if (!contains(safe, safeCount, mines[i]))
+				prove(mines[i], MINE, true);
+		}
+		for (int i = 0; i < safeCount; i++) {
+			if (!contains(mines, minesCount, safe[i]))
+				prove(safe[i], SAFE, true);
+		}
+	}
+
+	/**
+	 * Compares mines left on the board with unknown cells left.
+	 *
+	 * @return boolean - TRUE if cells have been proven
+	 */
+	private boolean applyMineCountRule() {
+		if (unknownCells == 0)
+			return false;
+
+		int left = board.getMines() - knownMines;
+		byte value;
+		if (left == 0) {
+			value = SAFE;
+		} else if (left == unknownCells) {
+			value = MINE;
+		} else {
+			return false;
+		}
+
+		for (int index = 0; index < state.length; index++) {
+			if (state[index] == UNKNOWN)
+				prove(index, value, true);
+		}
+		return true;
+	}
+
+	private static boolean contains(int[] array, int count, int value) {
+		for (int i = 0; i < count; i++) {
+			if (array[i] == value)
+				return true;
+		}
+		return false;
+	}
+}
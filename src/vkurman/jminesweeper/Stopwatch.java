@@ -1,12 +1,13 @@
 package vkurman.jminesweeper;
 
-import java.awt.event.ActionListener;
-import java.util.Calendar;
-
-import javax.swing.Timer;
-
 /**
- * <code>Stopwatch</code> extends swing timer class and provides some required functionality.
+ * <code>Stopwatch</code> measures time of the game with
+ * <code>System.nanoTime</code>, which does not jump when the clock of the
+ * system is changed. Stopwatch is the only source of the time of the game:
+ * displayed time and time of the record are both taken from it.
+ *
+ * <p>
+ * Stopwatch can be paused, time of the pause is not counted.
  *
  * <p>
  * Date : 23 Nov 2016
@@ -14,36 +15,93 @@ import javax.swing.Timer;
  * @author Vassili Kurman
  * @version 1.0
  */
-public class Stopwatch extends Timer {
-	
-	private static final long serialVersionUID = -7487410361569084944L;
+public class Stopwatch {
 
-	public Stopwatch(int delay, ActionListener listener) {
-		super(delay, listener);
-	}
-
-	private long start, stop;
+	// Time counted before the last start or resume, in nanoseconds
+	private long elapsed;
+	// System.nanoTime of the last start or resume
+	private long started;
+	private boolean running;
+	private boolean paused;
 
-	@Override
+	/**
+	 * Starts measuring time from zero.
+	 */
 	public synchronized void start() {
-		start = Calendar.getInstance().getTimeInMillis();
-		
-		super.start();
+		reset();
+		running = true;
+		started = System.nanoTime();
 	}
 
-	@Override
+	/**
+	 * Stops measuring time. Elapsed time stays available until the next start
+	 * or reset.
+	 */
 	public synchronized void stop() {
-		stop = Calendar.getInstance().getTimeInMillis();
+		if (running && !paused)
+			elapsed += System.nanoTime() - started;
+		running = false;
+		paused = false;
+	}
+
+	/**
+	 * Pauses running stopwatch.
+	 */
+	public synchronized void pause() {
+		if (!running || paused)
+			return;
+
+		elapsed += System.nanoTime() - started;
+		paused = true;
+	}
 
-		super.stop();
+	/**
+	 * Resumes paused stopwatch.
+	 */
+	public synchronized void resume() {
+		if (!running || !paused)
+			return;
+
+		started = System.nanoTime();
+		paused = false;
+	}
+
+	/**
+	 * Stops stopwatch and sets elapsed time to zero.
+	 */
+	public synchronized void reset() {
+		elapsed = 0;
+		running = false;
+		paused = false;
+	}
+
+	/**
+	 * Returns TRUE if stopwatch has been started and not stopped yet, even if
+	 * it is paused.
+	 *
+	 * @return boolean
+	 */
+	public synchronized boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Returns TRUE if stopwatch is paused.
+	 *
+	 * @return boolean
+	 */
+	public synchronized boolean isPaused() {
+		return paused;
 	}
-	
+
 	/**
-	 * Returns time between start and stop in milliseconds
-	 * 
+	 * Returns time measured since start without pauses, in nanoseconds.
+	 *
 	 * @return long
 	 */
-	public long getDurationTime() {
-		return (stop > start) ? stop - start : 0l;
+	public synchronized long getElapsedTime() {
+		if (running && !paused)
+			return elapsed + System.nanoTime() - started;
+		return elapsed;
 	}
-}
\ No newline at end of file
+}
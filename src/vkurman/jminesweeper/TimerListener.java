@@ -1,7 +1,9 @@
 package vkurman.jminesweeper;
 
 /**
- * <code>TimerListener</code> interface to update time.
+ * <code>TimerListener</code> interface to update time. Time is passed as
+ * displayed text, "MM:SS" or "MM:SS.T" with tenths of a second, and only when
+ * the text changes.
  *
  * <p>
  * Date : 25 Nov 2016
@@ -10,5 +12,5 @@ package vkurman.jminesweeper;
  * @version 1.0
  */
 public interface TimerListener {
-	public void updateTime(int minutes, int seconds);
+	public void updateTime(String time);
 }
\ No newline at end of file
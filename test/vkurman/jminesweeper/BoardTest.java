@@ -0,0 +1,123 @@
+package vkurman.jminesweeper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+/**
+ * <code>BoardTest</code> checks that mine neighbours counted in parallel are
+ * exactly the same as counted serially, for boards around and above
+ * <code>Board.PARALLEL_THRESHOLD</code> and stripes that end on odd rows, and
+ * that boards too big for one array are refused.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class BoardTest {
+
+	@Test
+	public void parallelNeighboursBelowThreshold() throws Exception {
+		checkNeighbours(999, 1001, 0.2, 1);
+	}
+
+	@Test
+	public void parallelNeighboursAtThreshold() throws Exception {
+		checkNeighbours(2048, 2048, 0.15, 2);
+		checkNeighbours(2047, 2049, 0.15, 3);
+	}
+
+	@Test
+	public void parallelNeighboursAboveThreshold() throws Exception {
+		checkNeighbours(2049, 2053, 0.2, 4);
+		checkNeighbours(2049, 2053, 0.2, 5);
+	}
+
+	@Test
+	public void parallelNeighboursOnStripeEdges() throws Exception {
+		// Stripes of about 64 rows, every stripe edge has mines across it
+		checkNeighbours(8193, 1024, 0.3, 6);
+		// Rows longer than a stripe, every row is a task of its own
+		checkNeighbours(67, 65537, 0.3, 7);
+		// Single column
+		checkNeighbours(Board.PARALLEL_THRESHOLD + 3, 1, 0.4, 8);
+	}
+
+	@Test
+	public void parallelNeighboursOfDenseBoard() throws Exception {
+		// Safe cells are drawn instead of mines
+		checkNeighbours(2053, 2049, 0.9, 9);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void boardTooBig() {
+		// 65536 * 65536 overflows int to 0
+		new Board(65536, 65536, 10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void boardOverflowingToSmallSize() {
+		// 65537 * 65537 overflows int to 131073 cells
+		new Board(65537, 65537, 100000);
+	}
+
+	/**
+	 * Places mines on the board and counts neighbours serially and in
+	 * parallel, both must match byte for byte and match counts of mines
+	 * around every cell. Counts are spoiled before every pass, so that a cell
+	 * missed by a pass is found.
+	 */
+	private static void checkNeighbours(int rows, int columns, double density,
+			long seed) throws Exception {
+		Board board = new Board(rows, columns, (int) ((long) rows * columns
+				* density), seed);
+		board.placeMines(rows / 2, columns / 2);
+
+		spoilNeighbours(board);
+		board.markMineNeighbours(false);
+		byte[] serial = board.getCells();
+		spoilNeighbours(board);
+		board.markMineNeighbours(true);
+		byte[] parallel = board.getCells();
+		assertArrayEquals(rows + "x" + columns, serial, parallel);
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				if (board.getAdjacentMines(row, column) != countMines(board,
+						row, column))
+					assertEquals("Cell " + row + "," + column, countMines(
+							board, row, column), board.getAdjacentMines(row,
+							column));
+			}
+		}
+	}
+
+	/**
+	 * Sets count of every cell to 15, which no cell can have.
+	 */
+	private static void spoilNeighbours(Board board) throws Exception {
+		Field field = Board.class.getDeclaredField("cells");
+		field.setAccessible(true);
+		byte[] cells = (byte[]) field.get(board);
+		for (int i = 0; i < cells.length; i++)
+			cells[i] |= 0x0F;
+	}
+
+	private static int countMines(Board board, int row, int column) {
+		int count = 0;
+		for (int r = row - 1; r <= row + 1; r++) {
+			for (int c = column - 1; c <= column + 1; c++) {
+				if ((r != row || c != column)
+						&& board.isCellPositionValid(r, c)
+						&& board.hasMine(r, c))
+					count++;
+			}
+		}
+		return count;
+	}
+}
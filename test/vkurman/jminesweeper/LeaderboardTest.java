@@ -0,0 +1,118 @@
+package vkurman.jminesweeper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * <code>LeaderboardTest</code> checks places of games, ranks of times and
+ * pages of games against a sorted list, with many games of the same time.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class LeaderboardTest {
+
+	@Test
+	public void emptyLeaderboard() {
+		Leaderboard records = new Leaderboard();
+		assertEquals(0, records.size());
+		assertEquals(0, records.rank(1000));
+		assertEquals(0, records.get(0, new Record[4]));
+	}
+
+	@Test
+	public void distinctTimes() {
+		check(new Random(1), 3000, 1000000);
+	}
+
+	@Test
+	public void manyTies() {
+		// About 60 games of every time
+		check(new Random(2), 3000, 50);
+	}
+
+	@Test
+	public void sameTime() {
+		check(new Random(3), 500, 1);
+	}
+
+	@Test
+	public void clearedLeaderboard() {
+		Random random = new Random(4);
+		Leaderboard records = new Leaderboard();
+		for (int i = 0; i < 100; i++) {
+			records.add(new Record("Old" + i, random.nextInt(10)));
+		}
+		records.clear();
+		assertEquals(0, records.size());
+		check(random, records, 200, 10);
+	}
+
+	private static void check(Random random, int games, int times) {
+		check(random, new Leaderboard(), games, times);
+	}
+
+	/**
+	 * Adds games with random times to the leaderboard and to a list kept
+	 * sorted by time, where games of the same time keep the order they have
+	 * been added in. Place of every added game, rank of every time and pages
+	 * of games must match the list.
+	 */
+	private static void check(Random random, Leaderboard records, int games,
+			int times) {
+		List<Record> oracle = new ArrayList<Record>();
+		for (int i = 0; i < games; i++) {
+			Record record = new Record("Player" + i, random
+					.nextInt(times));
+			int place = rank(oracle, record.getTime());
+			oracle.add(place, record);
+			assertEquals("Game " + i, place, records.add(record));
+			assertEquals(oracle.size(), records.size());
+
+			long time = random.nextInt(times + 2) - 1;
+			assertEquals("Time " + time, rank(oracle, time), records
+					.rank(time));
+		}
+
+		for (int place = 0; place < oracle.size(); place++) {
+			assertSame(oracle.get(place), records.get(place));
+			assertEquals(oracle.get(place).getTime(), records.getTime(place));
+		}
+
+		// Pages of every size, including the last incomplete one
+		for (int pageSize : new int[] { 1, 7, 64, games + 5 }) {
+			Record[] page = new Record[pageSize];
+			for (int from = 0; from <= oracle.size() + 1; from += pageSize) {
+				int copied = records.get(from, page);
+				assertEquals(Math.max(Math.min(pageSize, oracle.size() - from),
+						0), copied);
+				for (int i = 0; i < copied; i++) {
+					assertSame(oracle.get(from + i), page[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Number of games with time up to specified time.
+	 */
+	private static int rank(List<Record> oracle, long time) {
+		int place = 0;
+		while (place < oracle.size() && oracle.get(place).getTime() <= time)
+			place++;
+		return place;
+	}
+
+	private static void assertSame(Record expected, Record actual) {
+		assertEquals(expected.getName(), actual.getName());
+		assertEquals(expected.getTime(), actual.getTime());
+	}
+}
@@ -0,0 +1,356 @@
+package vkurman.jminesweeper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * <code>ProbabilityEngineTest</code> compares probabilities of mines with
+ * counts of all mine placements consistent with the board, on boards small
+ * enough to try every placement. The same engine is used through the whole
+ * game, so that probabilities of components taken from cache are checked as
+ * well.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class ProbabilityEngineTest {
+
+	private static final double DELTA = 1e-9;
+
+	@Test
+	public void smallBoards() {
+		for (long seed = 1; seed <= 20; seed++) {
+			playAndCheck(new Board(5, 5, 5, seed), seed);
+		}
+	}
+
+	@Test
+	public void denseBoards() {
+		for (long seed = 1; seed <= 10; seed++) {
+			playAndCheck(new Board(4, 7, 8, seed), seed);
+		}
+	}
+
+	@Test
+	public void flaggedMines() {
+		for (long seed = 1; seed <= 10; seed++) {
+			Board board = new Board(5, 6, 6, seed);
+			board.open(2, 2);
+			Solver solver = new Solver(board);
+			ProbabilityEngine engine = new ProbabilityEngine(board, solver);
+			check(board, engine.compute());
+
+			// Flags are trusted as mines
+			for (int index = 0; index < 30; index++) {
+				int row = index / 6, column = index % 6;
+				if (board.hasMine(row, column) && !board.isFlagged(row, column)) {
+					board.flag(row, column);
+					solver.flagChanged(row, column);
+					check(board, engine.compute());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void untouchedComponentsFromCache() {
+		int checked = 0;
+		for (long seed = 1; checked < 10; seed++) {
+			assertTrue("Too few positions with many components", seed < 2000);
+			Board board = new Board(6, 6, 7, seed);
+			board.open(0, 0);
+			Solver solver = new Solver(board);
+			ProbabilityEngine engine = new ProbabilityEngine(board, solver);
+			check(board, engine.compute());
+			List<List<Integer>> before = components(board, solver);
+			assertEquals(before.size(), engine.getEnumeratedComponents());
+
+			// Nothing has changed
+			check(board, engine.compute());
+			assertEquals(0, engine.getEnumeratedComponents());
+
+			// Numbered safe cell of the frontier is opened, components
+			// without any of its neighbours stay the same
+			int cell = frontierNumber(board, before);
+			if (before.size() < 2 || cell < 0)
+				continue;
+			int count = board.open(cell / 6, cell % 6);
+			solver.cellsOpened(board.getOpenedCells(), count);
+			int untouched = 0;
+			for (List<Integer> component : before) {
+				if (!touches(component, cell, 6))
+					untouched++;
+			}
+			if (untouched == 0)
+				continue;
+
+			check(board, engine.compute());
+			assertEquals(components(board, solver).size() - untouched, engine
+					.getEnumeratedComponents());
+			checked++;
+		}
+	}
+
+	/**
+	 * Opens random safe cells, updating solver, until all of them are opened
+	 * and checks probabilities before every move.
+	 */
+	private static void playAndCheck(Board board, long seed) {
+		Random random = new Random(seed);
+		int rows = board.getRows(), columns = board.getColumns();
+		board.open(random.nextInt(rows), random.nextInt(columns));
+		Solver solver = new Solver(board);
+		ProbabilityEngine engine = new ProbabilityEngine(board, solver);
+		while (board.getCoveredSafeCells() > 0) {
+			check(board, engine.compute());
+			int row, column;
+			do {
+				row = random.nextInt(rows);
+				column = random.nextInt(columns);
+			} while (board.hasMine(row, column) || board.isOpened(row, column));
+			int count = board.open(row, column);
+			solver.cellsOpened(board.getOpenedCells(), count);
+			if (random.nextBoolean())
+				solver.solve();
+		}
+	}
+
+	/**
+	 * Counts every placement of mines left in covered cells which are not
+	 * flagged, consistent with numbers of opened cells, and compares
+	 * frequency of mine in every cell with calculated probability.
+	 */
+	private static void check(Board board, double[] probabilities) {
+		Placements placements = new Placements(board);
+		placements.place(0, board.getMines() - placements.flags);
+		assertTrue(placements.total > 0);
+
+		int columns = board.getColumns();
+		for (int index = 0; index < probabilities.length; index++) {
+			int row = index / columns, column = index % columns;
+			double expected;
+			if (board.isFlagged(row, column)) {
+				expected = 1;
+			} else if (board.isOpened(row, column)) {
+				expected = 0;
+			} else {
+				expected = (double) placements.withMine[index]
+						/ placements.total;
+			}
+			assertEquals("Cell " + row + ", " + column, expected,
+					probabilities[index], DELTA);
+		}
+	}
+
+	/**
+	 * Groups unknown cells next to opened numbers into components sharing
+	 * numbers, as the engine does.
+	 */
+	private static List<List<Integer>> components(Board board, Solver solver) {
+		int rows = board.getRows(), columns = board.getColumns();
+		int[] parent = new int[rows * columns];
+		boolean[] frontier = new boolean[parent.length];
+		for (int i = 0; i < parent.length; i++)
+			parent[i] = i;
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				if (!board.isOpened(row, column)
+						|| board.getAdjacentMines(row, column) == 0)
+					continue;
+				int first = -1;
+				for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1,
+						rows - 1); r++) {
+					for (int c = Math.max(column - 1, 0); c <= Math.min(
+							column + 1, columns - 1); c++) {
+						if (!solver.isUnknown(r, c))
+							continue;
+						int cell = r * columns + c;
+						frontier[cell] = true;
+						if (first < 0)
+							first = cell;
+						else
+							parent[find(parent, cell)] = find(parent, first);
+					}
+				}
+			}
+		}
+
+		Map<Integer, List<Integer>> byRoot = new HashMap<Integer, List<Integer>>();
+		List<List<Integer>> components = new ArrayList<List<Integer>>();
+		for (int cell = 0; cell < parent.length; cell++) {
+			if (!frontier[cell])
+				continue;
+			List<Integer> component = byRoot.get(find(parent, cell));
+			if (component == null) {
+				component = new ArrayList<Integer>();
+				byRoot.put(find(parent, cell), component);
+				components.add(component);
+			}
+			component.add(cell);
+		}
+		return components;
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i)
+			i = parent[i];
+		return i;
+	}
+
+	/**
+	 * Returns safe frontier cell with mines next to it, so that opening it
+	 * does not open other cells, or -1 if there is none.
+	 */
+	private static int frontierNumber(Board board,
+			List<List<Integer>> components) {
+		int columns = board.getColumns();
+		for (List<Integer> component : components) {
+			for (int cell : component) {
+				int row = cell / columns, column = cell % columns;
+				if (!board.hasMine(row, column)
+						&& board.getAdjacentMines(row, column) > 0)
+					return cell;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns TRUE if component has the cell or any of its neighbours.
+	 */
+	private static boolean touches(List<Integer> component, int cell,
+			int columns) {
+		for (int other : component) {
+			if (Math.abs(other / columns - cell / columns) <= 1
+					&& Math.abs(other % columns - cell % columns) <= 1)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * <code>Placements</code> tries every placement of mines in covered cells,
+	 * cell by cell. Placement is abandoned as soon as any opened cell has too
+	 * many mines or too few covered cells left for its mines.
+	 */
+	private static class Placements {
+		private final int[] covered;
+		private final int coveredCount;
+		// Opened neighbours of every covered cell
+		private final int[][] numbers;
+		// Mines and covered cells left around every opened cell
+		private final int[] minesLeft;
+		private final int[] cellsLeft;
+		private final boolean[] mine;
+		final long[] withMine;
+		final int flags;
+		long total;
+
+		Placements(Board board) {
+			int rows = board.getRows(), columns = board.getColumns();
+			covered = new int[rows * columns];
+			numbers = new int[covered.length][];
+			minesLeft = new int[covered.length];
+			cellsLeft = new int[covered.length];
+			mine = new boolean[covered.length];
+			withMine = new long[covered.length];
+
+			int count = 0, flagged = 0;
+			for (int index = 0; index < covered.length; index++) {
+				int row = index / columns, column = index % columns;
+				if (board.isOpened(row, column)) {
+					minesLeft[index] = board.getAdjacentMines(row, column);
+					continue;
+				}
+				if (board.isFlagged(row, column)) {
+					flagged++;
+				} else {
+					covered[count++] = index;
+				}
+			}
+			coveredCount = count;
+			flags = flagged;
+
+			for (int index = 0; index < covered.length; index++) {
+				int row = index / columns, column = index % columns;
+				List<Integer> opened = new ArrayList<Integer>();
+				for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1,
+						rows - 1); r++) {
+					for (int c = Math.max(column - 1, 0); c <= Math.min(
+							column + 1, columns - 1); c++) {
+						if (board.isOpened(r, c))
+							opened.add(r * columns + c);
+					}
+				}
+				numbers[index] = new int[opened.size()];
+				for (int i = 0; i < opened.size(); i++) {
+					numbers[index][i] = opened.get(i);
+					if (board.isFlagged(row, column))
+						minesLeft[opened.get(i)]--;
+					else if (!board.isOpened(row, column))
+						cellsLeft[opened.get(i)]++;
+				}
+			}
+		}
+
+		void place(int from, int left) {
+			if (from == coveredCount) {
+				if (left != 0)
+					return;
+				total++;
+				for (int i = 0; i < coveredCount; i++) {
+					if (mine[covered[i]])
+						withMine[covered[i]]++;
+				}
+				return;
+			}
+			if (left > coveredCount - from)
+				return;
+
+			int cell = covered[from];
+			if (left > 0) {
+				if (assign(cell, true))
+					place(from + 1, left - 1);
+				unassign(cell, true);
+			}
+			if (assign(cell, false))
+				place(from + 1, left);
+			unassign(cell, false);
+		}
+
+		private boolean assign(int cell, boolean value) {
+			mine[cell] = value;
+			boolean valid = true;
+			for (int number : numbers[cell]) {
+				cellsLeft[number]--;
+				if (value)
+					minesLeft[number]--;
+				if (minesLeft[number] < 0
+						|| minesLeft[number] > cellsLeft[number])
+					valid = false;
+			}
+			return valid;
+		}
+
+		private void unassign(int cell, boolean value) {
+			mine[cell] = false;
+			for (int number : numbers[cell]) {
+				cellsLeft[number]++;
+				if (value)
+					minesLeft[number]++;
+			}
+		}
+	}
+}
@@ -0,0 +1,337 @@
+package vkurman.jminesweeper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * <code>RecordsFileTest</code> checks migration of text files and binary files
+ * of version 1, recovery of the journal after a torn or damaged last entry,
+ * that journal entries are never applied twice and that damaged games in the
+ * file are skipped.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class RecordsFileTest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void textFileWithSeparatorInNames() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		write(file.getTextFile(Difficulty.BEGINNER), "#3\n" + "Ann:Lee:1500\n"
+				+ "Bob:900\n" + "Unknown:0\n" + "::1:2000\n");
+
+		Leaderboard records = read(file, Difficulty.BEGINNER);
+		assertFalse(file.getTextFile(Difficulty.BEGINNER).exists());
+		assertTrue(file.getFile().exists());
+		checkRecords(records, "Bob", 900, "Ann:Lee", 1500, "::1", 2000);
+
+		// Games are in the binary file now
+		checkRecords(read(new RecordsFile(directory), Difficulty.BEGINNER),
+				"Bob", 900, "Ann:Lee", 1500, "::1", 2000);
+	}
+
+	@Test
+	public void malformedTextFile() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		write(file.getTextFile(Difficulty.INTERMEDIATE), "#x\n" + "Ann:1500\n"
+				+ "no separator\n" + "Bob:9x0\n" + "Cid:\n" + "\n"
+				+ "Dan:700\n");
+
+		checkRecords(read(file, Difficulty.INTERMEDIATE), "Dan", 700, "Ann",
+				1500);
+		assertFalse(file.getTextFile(Difficulty.INTERMEDIATE).exists());
+	}
+
+	@Test
+	public void journalAfterTextFile() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		write(file.getTextFile(Difficulty.BEGINNER), "#3\n" + "Ann:1500\n");
+		// Entries up to 3 are in the text file already
+		write(file.getJournal(Difficulty.BEGINNER), journalLine(2, "700", "Old")
+				+ journalLine(3, "800", "Old") + journalLine(4, "1200.5", "New"));
+
+		checkRecords(read(file, Difficulty.BEGINNER), "New", 1200.5, "Ann",
+				1500);
+		assertFalse(file.getJournal(Difficulty.BEGINNER).exists());
+	}
+
+	@Test
+	public void versionOneFile() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		writeVersionOne(file.getFile(), new String[][] {
+				{ "Ann", "1500", "Bob", "900" }, null,
+				{ "Cid", "30000", "Dan", "25000", "Eve", "41000" }, {} });
+
+		checkRecords(read(file, Difficulty.BEGINNER), "Bob", 900, "Ann", 1500);
+		checkRecords(read(file, Difficulty.CUSTOM));
+
+		// Saving a difficulty converts games of other difficulties
+		Leaderboard records = read(file, Difficulty.BEGINNER);
+		records.add(new Record("Fay", 1000 * NANOS_PER_MILLI));
+		file.save(Difficulty.BEGINNER, records);
+		assertEquals(2, readInt(file.getFile(), 4));
+
+		RecordsFile saved = new RecordsFile(directory);
+		checkRecords(read(saved, Difficulty.BEGINNER), "Bob", 900, "Fay",
+				1000, "Ann", 1500);
+		checkRecords(read(saved, Difficulty.ADVANCED), "Dan", 25000, "Cid",
+				30000, "Eve", 41000);
+		checkRecords(read(saved, Difficulty.CUSTOM));
+		assertFalse(isPresent(saved, Difficulty.INTERMEDIATE));
+	}
+
+	@Test
+	public void tornLastJournalEntry() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		file.save(Difficulty.INTERMEDIATE, new Leaderboard());
+		append(file, Difficulty.INTERMEDIATE, "Ann", 1500, "Bob", 900);
+
+		// Game killed in the middle of a write
+		String torn = journalLine(3, "500", "Cid");
+		appendText(file.getJournal(Difficulty.INTERMEDIATE), torn.substring(0,
+				torn.length() - 3));
+
+		RecordsFile recovered = new RecordsFile(directory);
+		checkRecords(read(recovered, Difficulty.INTERMEDIATE), "Bob", 900,
+				"Ann", 1500);
+
+		// Numbering goes on from the last applied entry
+		append(recovered, Difficulty.INTERMEDIATE, "Dan", 700);
+		checkRecords(read(new RecordsFile(directory), Difficulty.INTERMEDIATE),
+				"Dan", 700, "Bob", 900, "Ann", 1500);
+	}
+
+	@Test
+	public void damagedLastJournalEntry() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		file.save(Difficulty.ADVANCED, new Leaderboard());
+		append(file, Difficulty.ADVANCED, "Ann", 1500);
+		String line = journalLine(2, "500", "Bob");
+		appendText(file.getJournal(Difficulty.ADVANCED), line.replace("Bob",
+				"Bab"));
+		appendText(file.getJournal(Difficulty.ADVANCED), journalLine(3, "600",
+				"Cid"));
+
+		checkRecords(read(new RecordsFile(directory), Difficulty.ADVANCED),
+				"Ann", 1500);
+	}
+
+	@Test
+	public void journalIsNotAppliedTwice() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		file.save(Difficulty.BEGINNER, new Leaderboard());
+		append(file, Difficulty.BEGINNER, "Ann", 1500, "Bob", 900);
+
+		// Game killed after the file has been replaced, before the journal
+		// has been removed
+		File journal = file.getJournal(Difficulty.BEGINNER);
+		File copy = new File(directory, "journal.copy");
+		Files.copy(journal.toPath(), copy.toPath());
+		read(new RecordsFile(directory), Difficulty.BEGINNER);
+		Files.move(copy.toPath(), journal.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		appendText(journal, journalLine(3, "1200", "Cid"));
+
+		checkRecords(read(new RecordsFile(directory), Difficulty.BEGINNER),
+				"Bob", 900, "Cid", 1200, "Ann", 1500);
+	}
+
+	@Test
+	public void damagedGameIsSkipped() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		Leaderboard records = new Leaderboard();
+		records.add(new Record("Ann", 1500 * NANOS_PER_MILLI));
+		records.add(new Record("Bob", 900 * NANOS_PER_MILLI));
+		records.add(new Record("Cid", 1200 * NANOS_PER_MILLI));
+		file.save(Difficulty.INTERMEDIATE, records);
+
+		// Name of the second game, at place 1
+		long offset = readLong(file.getFile(), 12 + Difficulty.INTERMEDIATE
+				.ordinal() * 24);
+		RandomAccessFile raf = new RandomAccessFile(file.getFile(), "rw");
+		try {
+			raf.seek(offset + RecordsFile.ENTRY_SIZE + 14);
+			raf.write('X');
+		} finally {
+			raf.close();
+		}
+
+		checkRecords(read(new RecordsFile(directory), Difficulty.INTERMEDIATE),
+				"Bob", 900, "Ann", 1500);
+	}
+
+	@Test
+	public void manyPages() throws Exception {
+		File directory = folder.getRoot();
+		RecordsFile file = new RecordsFile(directory);
+		Leaderboard beginner = new Leaderboard();
+		Leaderboard custom = new Leaderboard();
+		for (int i = 0; i < 2500; i++) {
+			beginner.add(new Record("B" + i, (i * 7919L % 2500) * 1000 + 1));
+			custom.add(new Record("C" + i, i * 3 + 2));
+		}
+		file.save(Difficulty.BEGINNER, beginner);
+		file.save(Difficulty.CUSTOM, custom);
+
+		RecordsFile saved = new RecordsFile(directory);
+		checkSame(beginner, read(saved, Difficulty.BEGINNER));
+		checkSame(custom, read(saved, Difficulty.CUSTOM));
+	}
+
+	private static Leaderboard read(RecordsFile file, Difficulty difficulty)
+			throws IOException {
+		Leaderboard records = new Leaderboard();
+		file.read(difficulty, records);
+		return records;
+	}
+
+	private static boolean isPresent(RecordsFile file, Difficulty difficulty)
+			throws IOException {
+		try {
+			read(file, difficulty);
+			return true;
+		} catch (FileNotFoundException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Appends games given as name and time in milliseconds.
+	 */
+	private static void append(RecordsFile file, Difficulty difficulty,
+			Object... games) throws IOException {
+		for (int i = 0; i < games.length; i += 2) {
+			file.append(difficulty, new Record((String) games[i],
+					((Number) games[i + 1]).longValue() * NANOS_PER_MILLI));
+		}
+	}
+
+	/**
+	 * Checks games in order of places, given as name and time in
+	 * milliseconds.
+	 */
+	private static void checkRecords(Leaderboard records, Object... games) {
+		assertEquals(games.length / 2, records.size());
+		for (int i = 0; i < games.length; i += 2) {
+			Record record = records.get(i / 2);
+			assertEquals(games[i], record.getName());
+			assertEquals(Math.round(((Number) games[i + 1]).doubleValue()
+					* NANOS_PER_MILLI), record.getTime());
+		}
+	}
+
+	private static void checkSame(Leaderboard expected, Leaderboard actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getName(), actual.get(i).getName());
+			assertEquals(expected.get(i).getTime(), actual.get(i).getTime());
+		}
+	}
+
+	private static String journalLine(long sequence, String time, String name) {
+		String entry = sequence + ":" + time + ":" + name;
+		CRC32 crc = new CRC32();
+		crc.update(entry.getBytes(UTF8));
+		return Long.toHexString(crc.getValue()) + ":" + entry + "\n";
+	}
+
+	private static void write(File file, String text) throws IOException {
+		Files.write(file.toPath(), text.getBytes(UTF8));
+	}
+
+	private static void appendText(File file, String text) throws IOException {
+		FileOutputStream out = new FileOutputStream(file, true);
+		try {
+			out.write(text.getBytes(UTF8));
+		} finally {
+			out.close();
+		}
+	}
+
+	private static int readInt(File file, int position) throws IOException {
+		return ByteBuffer.wrap(Files.readAllBytes(file.toPath())).getInt(
+				position);
+	}
+
+	private static long readLong(File file, int position) throws IOException {
+		return ByteBuffer.wrap(Files.readAllBytes(file.toPath())).getLong(
+				position);
+	}
+
+	/**
+	 * Writes binary file of version 1 with times in milliseconds. Games of
+	 * every difficulty are given as name and time, null if the difficulty is
+	 * not in the file.
+	 */
+	private static void writeVersionOne(File file, String[][] regions)
+			throws IOException {
+		int headerSize = 12 + regions.length * 24 + 4;
+		int games = 0;
+		for (String[] region : regions) {
+			games += (region == null) ? 0 : region.length / 2;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(headerSize + games
+				* RecordsFile.ENTRY_SIZE);
+		buffer.putInt(0x4A4D5352).putInt(1).putInt(regions.length);
+		long offset = headerSize;
+		for (String[] region : regions) {
+			int count = (region == null) ? 0 : region.length / 2;
+			buffer.putLong(offset).putInt(count).putLong(0)
+					.putInt(region == null ? 0 : 1);
+			offset += count * RecordsFile.ENTRY_SIZE;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 0, headerSize - 4);
+		buffer.putInt((int) crc.getValue());
+
+		for (String[] region : regions) {
+			for (int i = 0; region != null && i < region.length; i += 2) {
+				int entry = buffer.position();
+				byte[] name = region[i].getBytes(UTF8);
+				buffer.putLong(Long.parseLong(region[i + 1])).putInt(0)
+						.putShort((short) name.length).put(name);
+				buffer.position(entry + RecordsFile.ENTRY_SIZE);
+
+				crc = new CRC32();
+				crc.update(buffer.array(), entry, 8);
+				crc.update(buffer.array(), entry + 12,
+						RecordsFile.ENTRY_SIZE - 12);
+				buffer.putInt(entry + 8, (int) crc.getValue());
+			}
+		}
+		Files.write(file.toPath(), buffer.array());
+	}
+}
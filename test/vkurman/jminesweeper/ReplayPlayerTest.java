@@ -0,0 +1,316 @@
+package vkurman.jminesweeper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * <code>ReplayPlayerTest</code> records games and checks that seeking to every
+ * move, forwards, backwards and in random order, leaves the board exactly as
+ * playing the replay from the start does. Marks of the board are also checked
+ * to survive packing, and damaged replays must fail with
+ * <code>IOException</code> only.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class ReplayPlayerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void seekToEveryMove() throws Exception {
+		check(new Board(30, 40, 180, 11), 0, 2000, 1);
+	}
+
+	@Test
+	public void seekWithFlagsBeforeFirstOpen() throws Exception {
+		// Keyframes taken before mines have been placed
+		check(new Board(20, 20, 60, 12), 600, 900, 2);
+	}
+
+	@Test
+	public void seekOnBoardWithMinesPlaced() throws Exception {
+		Board board = new Board(25, 17, 70, 13);
+		board.placeMines(3, 5);
+		board.open(3, 5);
+		check(board, 0, 1500, 3);
+	}
+
+	@Test
+	public void packedMarks() {
+		Random random = new Random(4);
+		// Cell counts that do not fill the last byte
+		for (int columns = 1; columns <= 9; columns++) {
+			Board board = new Board(7, columns, 3, columns);
+			play(board, random, 0, 40, null);
+
+			Board restored = new Board(7, columns, 3, columns);
+			restored.placeMines(board.getFirstRow(), board.getFirstColumn());
+			restored.setPackedMarks(board.getPackedMarks());
+			new State(board).check(restored);
+		}
+	}
+
+	@Test
+	public void damagedHeader() throws Exception {
+		int max = CustomBoardDialog.MAX_ROWS;
+		checkDamaged(header(9, 9, 81, 0));
+		checkDamaged(header(9, 9, 100, 0));
+		checkDamaged(header(9, 9, -1, 0));
+		checkDamaged(header(0, 9, 10, 0));
+		checkDamaged(header(9, 9, 10, 82));
+		checkDamaged(header(9, 9, 10, -1));
+		checkDamaged(header(max + 1, 9, 10, 0));
+		checkDamaged(header(9, CustomBoardDialog.MAX_COLUMNS + 1, 10, 0));
+		// Cell count overflows int
+		checkDamaged(header(1L << 32, 1L << 32, 10, 0));
+		checkDamaged(header((1L << 32) + 9, 9, 10, 0));
+		checkDamaged(Arrays.copyOf(header(9, 9, 10, 0), 10));
+	}
+
+	@Test
+	public void damagedMovesAndKeyframes() throws Exception {
+		Board board = new Board(16, 16, 40, 14);
+		ReplayRecorder recorder = new ReplayRecorder(folder.getRoot());
+		recorder.start(board);
+		play(board, new Random(5), 0, 1000, recorder);
+		assertTrue(recorder.flush(10000));
+		byte[] replay = Files.readAllBytes(folder.getRoot().listFiles()[0]
+				.toPath());
+		int start = header(16, 16, 40, 0).length;
+
+		// Every truncation of the replay
+		for (int length = 0; length < replay.length; length++) {
+			play(Arrays.copyOf(replay, length));
+		}
+		// Random bytes of moves, keyframes and trailer changed
+		Random random = new Random(6);
+		for (int i = 0; i < 1000; i++) {
+			byte[] damaged = replay.clone();
+			for (int j = random.nextInt(3); j >= 0; j--) {
+				damaged[start + random.nextInt(replay.length - start)] = (byte) random
+						.nextInt(256);
+			}
+			play(damaged);
+		}
+
+		// Length of the first keyframe beyond the replay, or negative
+		int keyframe = ByteBuffer.wrap(replay).getInt(
+				replay.length - ReplayPlayer.TRAILER_SIZE);
+		byte[] damaged = replay.clone();
+		byte[] length = { 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+				(byte) 0xFF, 0x07 };
+		System.arraycopy(length, 0, damaged, keyframe, length.length);
+		checkDamagedKeyframe(damaged);
+		damaged = replay.clone();
+		Arrays.fill(damaged, keyframe + 1, keyframe + 10, (byte) 0xFF);
+		damaged[keyframe] = 0;
+		damaged[keyframe + 10] = 0x01;
+		checkDamagedKeyframe(damaged);
+	}
+
+	/**
+	 * Seeking back through the replay must fail with <code>IOException</code>
+	 * when the damaged keyframe is restored.
+	 */
+	private static void checkDamagedKeyframe(byte[] replay) throws Exception {
+		ReplayPlayer player = new ReplayPlayer(replay);
+		assertTrue(player.getKeyframes() > 0);
+		try {
+			for (int move = player.getMoves(); move >= 0; move--) {
+				player.seek(move);
+			}
+			fail("Damaged keyframe is accepted");
+		} catch (IOException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Replay must be refused with <code>IOException</code>.
+	 */
+	private static void checkDamaged(byte[] replay) {
+		try {
+			new ReplayPlayer(replay);
+			fail("Damaged replay is accepted");
+		} catch (IOException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Opens replay and seeks to every move, which may only fail with
+	 * <code>IOException</code>.
+	 */
+	private static void play(byte[] replay) {
+		try {
+			ReplayPlayer player = new ReplayPlayer(replay);
+			for (int move = player.getMoves(); move >= 0; move -= 7) {
+				player.seek(move);
+			}
+		} catch (IOException e) {
+			// Damage is found
+		}
+	}
+
+	/**
+	 * Header of replay with specified board, numbers are written as they are.
+	 */
+	private static byte[] header(long rows, long columns, long mines,
+			long startCell) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(ReplayRecorder.MAGIC);
+		for (long value : new long[] { ReplayRecorder.VERSION, rows, columns,
+				mines }) {
+			putVarint(out, value);
+		}
+		out.writeLong(15);
+		putVarint(out, startCell);
+		return bytes.toByteArray();
+	}
+
+	private static void putVarint(DataOutputStream out, long value)
+			throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	/**
+	 * Plays random game on the board, records it and checks seeking in the
+	 * replay against playing it move by move.
+	 */
+	private void check(Board board, int flagsFirst, int moves, long seed)
+			throws Exception {
+		ReplayRecorder recorder = new ReplayRecorder(folder.getRoot());
+		recorder.start(board);
+		play(board, new Random(seed), flagsFirst, moves, recorder);
+		assertTrue(recorder.flush(10000));
+
+		File[] files = folder.getRoot().listFiles();
+		assertEquals(1, files.length);
+		ReplayPlayer linear = new ReplayPlayer(files[0]);
+		ReplayPlayer player = new ReplayPlayer(files[0]);
+		assertEquals(moves, linear.getMoves());
+		assertTrue(linear.getKeyframes() > 1);
+
+		// Boards after every move, played from the start
+		List<State> boards = new ArrayList<State>();
+		boards.add(new State(linear.getBoard()));
+		while (linear.getPosition() < linear.getMoves()) {
+			linear.step();
+			boards.add(new State(linear.getBoard()));
+		}
+		boards.get(moves).check(board);
+
+		for (int move = 0; move <= moves; move++) {
+			player.seek(move);
+			boards.get(move).check(player.getBoard());
+		}
+		for (int move = moves; move >= 0; move--) {
+			player.seek(move);
+			boards.get(move).check(player.getBoard());
+		}
+		List<Integer> order = new ArrayList<Integer>();
+		for (int move = 0; move <= moves; move++) {
+			order.add(move);
+		}
+		Collections.shuffle(order, new Random(seed));
+		for (int move : order) {
+			player.seek(move);
+			assertEquals(move, player.getPosition());
+			boards.get(move).check(player.getBoard());
+		}
+	}
+
+	/**
+	 * Flags random cells, then makes random moves: flags any cell, opens safe
+	 * cells only, so that the game goes on, and chords opened cells.
+	 */
+	private static void play(Board board, Random random, int flagsFirst,
+			int moves, ReplayRecorder recorder) {
+		int rows = board.getRows();
+		int columns = board.getColumns();
+		for (int move = 0; move < moves; move++) {
+			int row = random.nextInt(rows);
+			int column = random.nextInt(columns);
+			int action = random.nextInt(3);
+			if (move < flagsFirst) {
+				action = ReplayRecorder.FLAG;
+			} else if (!board.isMinesPlaced()) {
+				action = ReplayRecorder.OPEN;
+			}
+
+			if (action == ReplayRecorder.OPEN && board.isMinesPlaced()) {
+				while (board.hasMine(row, column)) {
+					row = random.nextInt(rows);
+					column = random.nextInt(columns);
+				}
+			}
+			if (action == ReplayRecorder.OPEN) {
+				board.open(row, column);
+			} else if (action == ReplayRecorder.FLAG) {
+				board.flag(row, column);
+			} else {
+				board.chord(row, column);
+			}
+			if (recorder != null)
+				recorder.record(row, column, action);
+		}
+	}
+
+	/**
+	 * <code>State</code> keeps all cells and counters of the board.
+	 */
+	private static class State {
+		private final boolean minesPlaced;
+		private final byte[] cells;
+		private final int leftMines;
+		private final int coveredSafeCells;
+		private final boolean lost;
+		private final boolean won;
+
+		State(Board board) {
+			minesPlaced = board.isMinesPlaced();
+			cells = board.getCells();
+			leftMines = board.getLeftMines();
+			coveredSafeCells = board.getCoveredSafeCells();
+			lost = board.isLost();
+			won = board.isWon();
+		}
+
+		void check(Board board) {
+			assertEquals(minesPlaced, board.isMinesPlaced());
+			assertArrayEquals(cells, board.getCells());
+			assertEquals(leftMines, board.getLeftMines());
+			assertEquals(coveredSafeCells, board.getCoveredSafeCells());
+			assertEquals(lost, board.isLost());
+			assertEquals(won, board.isWon());
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package vkurman.jminesweeper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * <code>ReplayRecorderTest</code> checks that games started within the same
+ * millisecond are written to files of their own.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class ReplayRecorderTest {
+
+	private static final int GAMES = 50;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void gamesOfSameMillisecond() throws Exception {
+		ReplayRecorder recorder = new ReplayRecorder(folder.getRoot());
+		// Game number is its number of moves
+		for (int game = 1; game <= GAMES; game++) {
+			Board board = new Board(9, 9, 10, game);
+			recorder.start(board);
+			for (int move = 0; move < game; move++) {
+				recorder.record(move / 9, move % 9, ReplayRecorder.FLAG);
+			}
+		}
+		assertTrue(recorder.flush(10000));
+
+		File[] files = folder.getRoot().listFiles();
+		assertEquals(GAMES, files.length);
+		boolean[] found = new boolean[GAMES + 1];
+		for (File file : files) {
+			assertTrue(file.getName().endsWith(ReplayRecorder.extension));
+			found[new ReplayPlayer(file).getMoves()] = true;
+		}
+		boolean[] all = new boolean[GAMES + 1];
+		Arrays.fill(all, 1, GAMES + 1, true);
+		assertTrue(Arrays.equals(all, found));
+	}
+}
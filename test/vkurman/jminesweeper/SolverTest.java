@@ -0,0 +1,384 @@
+package vkurman.jminesweeper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * <code>SolverTest</code> checks that every cell proven by
+ * <code>Solver</code> is proven right and that, after every call to
+ * <code>solve()</code>, none of the rules can prove anything more. Solver is
+ * updated with cells opened move by move, so a constraint missed by the queue
+ * of changed constraints leaves a rule that still applies.
+ *
+ * <p>
+ * Date : 18 Oct 2026
+ *
+ * @author Vassili Kurman
+ * @version 1.0
+ */
+public class SolverTest {
+
+	@Test
+	public void differenceRule() {
+		// Positions where single cell rule alone gets stuck
+		int proven = 0;
+		for (long seed = 1; seed <= 200; seed++) {
+			Board board = new Board(9, 9, 10, seed);
+			board.open(4, 4);
+			Solver solver = new Solver(board);
+			playWithSingleRule(board, solver);
+			if (board.getCoveredSafeCells() == 0)
+				continue;
+
+			Checker checker = new Checker(board, solver);
+			if (!checker.hasDifference())
+				continue;
+			assertTrue(solver.solve() > 0);
+			checker.check(solver.getSafeCells(), solver.getSafeCount(),
+					solver.getMineCells(), solver.getMineCount());
+			proven++;
+		}
+		assertTrue("Too few positions for difference rule", proven >= 20);
+	}
+
+	@Test
+	public void mineCountRuleSafe() {
+		for (long seed = 1; seed <= 20; seed++) {
+			Board board = new Board(9, 9, 10, seed);
+			board.open(4, 4);
+			Solver solver = new Solver(board);
+			// All mines are flagged, the rest of cells are safe wherever they
+			// are
+			for (int row = 0; row < 9; row++) {
+				for (int column = 0; column < 9; column++) {
+					if (board.hasMine(row, column)) {
+						board.flag(row, column);
+						solver.flagChanged(row, column);
+					}
+				}
+			}
+			solver.solve();
+			assertEquals(0, solver.getUnknownCells());
+			for (int row = 0; row < 9; row++) {
+				for (int column = 0; column < 9; column++) {
+					assertEquals(!board.hasMine(row, column)
+							&& !board.isOpened(row, column), solver.isSafe(
+							row, column));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void mineCountRuleMines() {
+		// Corner cells have no opened neighbours, they are mines only because
+		// unknown cells left are as many as mines left
+		Board board = new Board(7, 7, 40, 2);
+		board.open(3, 3);
+		Solver solver = new Solver(board);
+		solver.solve();
+		assertTrue(solver.isMine(0, 0));
+		assertTrue(solver.isMine(6, 6));
+		assertEquals(0, solver.getUnknownCells());
+	}
+
+	@Test
+	public void provenCellsAreRight() {
+		Random random = new Random(3);
+		int[][] sizes = { { 9, 9, 10 }, { 16, 16, 40 }, { 16, 30, 99 },
+				{ 20, 20, 120 } };
+		for (int[] size : sizes) {
+			for (int game = 0; game < 50; game++) {
+				playAndCheck(new Board(size[0], size[1], size[2], random
+						.nextLong()), random);
+			}
+		}
+	}
+
+	@Test
+	public void removedFlags() {
+		Random random = new Random(4);
+		for (int game = 0; game < 50; game++) {
+			Board board = new Board(16, 16, 40, random.nextLong());
+			board.open(8, 8);
+			Solver solver = new Solver(board);
+			// Flags on random cells, then all of them are removed
+			for (int i = 0; i < 20; i++) {
+				int row = random.nextInt(16), column = random.nextInt(16);
+				if (!board.isOpened(row, column) && board.flag(row, column))
+					solver.flagChanged(row, column);
+			}
+			for (int row = 0; row < 16; row++) {
+				for (int column = 0; column < 16; column++) {
+					if (board.isFlagged(row, column)) {
+						board.flag(row, column);
+						solver.flagChanged(row, column);
+					}
+				}
+			}
+			solver.solve();
+			new Checker(board, solver).check();
+		}
+	}
+
+	@Test
+	public void noGuessBoards() {
+		NoGuessGenerator generator = new NoGuessGenerator(16, 16, 40,
+				NoGuessGenerator.DEFAULT_MAX_ATTEMPTS, new ForkJoinPool(2));
+		for (long seed = 1; seed <= 10; seed++) {
+			Board board = generator.generate(seed);
+			assertNotNull(board);
+			board.open(generator.getStartRow(), generator.getStartColumn());
+			assertTrue(new Solver(board).play());
+			assertFalse(board.isLost());
+			assertEquals(0, board.getCoveredSafeCells());
+		}
+	}
+
+	/**
+	 * Opens proven safe cells and, when nothing is proven, random safe cell.
+	 * Solver is updated with opened cells only and is checked after every
+	 * call to <code>solve()</code>.
+	 */
+	private static void playAndCheck(Board board, Random random) {
+		int rows = board.getRows(), columns = board.getColumns();
+		board.open(rows / 2, columns / 2);
+		Solver solver = new Solver(board);
+		while (board.getCoveredSafeCells() > 0) {
+			solver.solve();
+			Checker checker = new Checker(board, solver);
+			checker.check(solver.getSafeCells(), solver.getSafeCount(),
+					solver.getMineCells(), solver.getMineCount());
+
+			int cell;
+			if (solver.getSafeCount() > 0) {
+				cell = solver.getSafeCells()[random.nextInt(solver
+						.getSafeCount())];
+			} else {
+				do {
+					cell = random.nextInt(rows * columns);
+				} while (board.hasMine(cell / columns, cell % columns)
+						|| board.isOpened(cell / columns, cell % columns));
+			}
+			int count = board.open(cell / columns, cell % columns);
+			solver.cellsOpened(board.getOpenedCells(), count);
+			assertFalse(board.isLost());
+		}
+	}
+
+	/**
+	 * Opens cells proven safe and flags cells proven to have mine by single
+	 * cell rule only, until it can not prove anything more. Solver is updated
+	 * without solving.
+	 */
+	private static void playWithSingleRule(Board board, Solver solver) {
+		int columns = board.getColumns();
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			Checker checker = new Checker(board, solver);
+			for (int index = 0; index < board.getRows() * columns; index++) {
+				int row = index / columns, column = index % columns;
+				if (checker.isSingleSafe(index)) {
+					int count = board.open(row, column);
+					solver.cellsOpened(board.getOpenedCells(), count);
+					changed = true;
+				} else if (checker.isSingleMine(index)) {
+					board.flag(row, column);
+					solver.flagChanged(row, column);
+					changed = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * <code>Checker</code> applies rules of the solver to the whole board
+	 * from scratch, using cells proven by the solver.
+	 */
+	private static class Checker {
+		private final Board board;
+		private final Solver solver;
+		private final int rows;
+		private final int columns;
+
+		Checker(Board board, Solver solver) {
+			this.board = board;
+			this.solver = solver;
+			this.rows = board.getRows();
+			this.columns = board.getColumns();
+		}
+
+		/**
+		 * Checks proven cells and cells returned by the last call to
+		 * <code>solve()</code> against the board, then checks that none of
+		 * the rules applies any more.
+		 */
+		void check(int[] safe, int safeCount, int[] mines, int mineCount) {
+			for (int i = 0; i < safeCount; i++) {
+				assertTrue(solver.isSafe(safe[i] / columns, safe[i] % columns));
+			}
+			for (int i = 0; i < mineCount; i++) {
+				assertTrue(solver.isMine(mines[i] / columns, mines[i]
+						% columns));
+			}
+			check();
+		}
+
+		void check() {
+			int unknown = 0, known = 0;
+			for (int row = 0; row < rows; row++) {
+				for (int column = 0; column < columns; column++) {
+					String cell = "Cell " + row + ", " + column;
+					if (solver.isSafe(row, column))
+						assertFalse(cell, board.hasMine(row, column));
+					if (solver.isMine(row, column)) {
+						assertTrue(cell, board.hasMine(row, column));
+						known++;
+					}
+					if (solver.isUnknown(row, column)) {
+						assertFalse(cell, board.isOpened(row, column));
+						unknown++;
+					}
+				}
+			}
+			assertEquals(unknown, solver.getUnknownCells());
+			assertEquals(known, solver.getKnownMines());
+
+			for (int index = 0; index < rows * columns; index++) {
+				int[] a = unknown(index);
+				if (a == null)
+					continue;
+				assertFalse("Single cell rule applies to " + index,
+						a[0] == 0 || a[0] == a.length - 1);
+			}
+			assertFalse("Difference rule applies", hasDifference());
+
+			if (unknown > 0) {
+				int left = board.getMines() - known;
+				assertTrue("Mine count rule applies", left != 0
+						&& left != unknown);
+			}
+		}
+
+		/**
+		 * Returns TRUE if single cell rule proves the cell safe.
+		 */
+		boolean isSingleSafe(int index) {
+			if (!solver.isUnknown(index / columns, index % columns))
+				return false;
+			for (int other : neighbours(index)) {
+				int[] a = unknown(other);
+				if (a != null && a[0] == 0)
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Returns TRUE if single cell rule proves the cell to have mine.
+		 */
+		boolean isSingleMine(int index) {
+			if (!solver.isUnknown(index / columns, index % columns))
+				return false;
+			for (int other : neighbours(index)) {
+				int[] a = unknown(other);
+				if (a != null && a[0] == a.length - 1)
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Returns TRUE if any two constraints sharing unknown cells prove
+		 * some of them.
+		 */
+		boolean hasDifference() {
+			for (int index = 0; index < rows * columns; index++) {
+				int[] a = unknown(index);
+				if (a == null)
+					continue;
+				// Constraints sharing cells are at most two rows and columns
+				// away
+				int row = index / columns, column = index % columns;
+				for (int r = Math.max(row - 2, 0); r <= Math.min(row + 2,
+						rows - 1); r++) {
+					for (int c = Math.max(column - 2, 0); c <= Math.min(
+							column + 2, columns - 1); c++) {
+						int other = r * columns + c;
+						int[] b = unknown(other);
+						if (other == index || b == null || shared(a, b) == 0)
+							continue;
+						int onlyA = a.length - 1 - shared(a, b);
+						int onlyB = b.length - 1 - shared(a, b);
+						if (a[0] - b[0] == onlyA && onlyA + onlyB > 0)
+							return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns mines left around opened cell followed by its unknown
+		 * neighbours, or null if cell is not opened or has no unknown
+		 * neighbours.
+		 */
+		private int[] unknown(int index) {
+			if (!board.isOpened(index / columns, index % columns))
+				return null;
+			int[] neighbours = neighbours(index);
+			int[] result = new int[neighbours.length + 1];
+			int count = 1;
+			result[0] = board.getAdjacentMines(index / columns, index
+					% columns);
+			for (int cell : neighbours) {
+				int row = cell / columns, column = cell % columns;
+				if (solver.isMine(row, column))
+					result[0]--;
+				else if (solver.isUnknown(row, column))
+					result[count++] = cell;
+			}
+			if (count == 1)
+				return null;
+			int[] copy = new int[count];
+			System.arraycopy(result, 0, copy, 0, count);
+			return copy;
+		}
+
+		private int[] neighbours(int index) {
+			int row = index / columns, column = index % columns;
+			int[] result = new int[8];
+			int count = 0;
+			for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1,
+					rows - 1); r++) {
+				for (int c = Math.max(column - 1, 0); c <= Math.min(
+						column + 1, columns - 1); c++) {
+					if (r != row || c != column)
+						result[count++] = r * columns + c;
+				}
+			}
+			int[] copy = new int[count];
+			System.arraycopy(result, 0, copy, 0, count);
+			return copy;
+		}
+
+		private static int shared(int[] a, int[] b) {
+			int shared = 0;
+			for (int i = 1; i < a.length; i++) {
+				for (int j = 1; j < b.length; j++) {
+					if (a[i] == b[j])
+						shared++;
+				}
+			}
+			return shared;
+		}
+	}
+}